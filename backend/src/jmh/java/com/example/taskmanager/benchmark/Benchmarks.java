@@ -0,0 +1,41 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+
+/**
+ * Fixtures shared by the benchmarks.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    static Task task(long n) {
+        Task task = new Task();
+        task.setTitle("Benchmark task " + n);
+        task.setDescription("Description of benchmark task number " + n);
+        task.setStatus(TaskStatus.values()[(int) (n % TaskStatus.values().length)]);
+        task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(n % 365));
+        return task;
+    }
+
+    /**
+     * Boots the application on its own in-memory database with quiet logging.
+     */
+    static ConfigurableApplicationContext start(String name, WebApplicationType type) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(type)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + name + ";DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * End-to-end dispatch through TaskController with MockMvc: filters, argument resolution,
+ * validation, the service and repository, and JSON rendering, without the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskControllerBenchmark {
+
+    private static final String NEW_TASK = "{\"title\": \"Benchmark\", \"status\": \"TODO\", \"dueDate\": \"2026-06-01\"}";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        context = Benchmarks.start("controller", WebApplicationType.SERVLET);
+        mockMvc = MockMvcBuilders.webAppContextSetup((ServletWebServerApplicationContext) context).build();
+        TaskRepository repository = context.getBean(TaskRepository.class);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(Benchmarks.task(i));
+        }
+        ids = new ArrayList<>();
+        for (Task saved : repository.saveAll(tasks)) {
+            ids.add(saved.getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getById() throws Exception {
+        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return mockMvc.perform(get("/api/tasks/" + id)).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse listFirstPage() throws Exception {
+        return mockMvc.perform(get("/api/tasks").param("limit", "100")).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse create() throws Exception {
+        return mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(NEW_TASK)).andReturn().getResponse();
+    }
+}
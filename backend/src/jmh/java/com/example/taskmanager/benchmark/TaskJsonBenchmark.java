@@ -0,0 +1,72 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task JSON mapping with an ObjectMapper configured like the application's (Spring's builder
+ * defaults: java.time support, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    private ObjectWriter taskWriter;
+    private ObjectWriter listWriter;
+    private ObjectReader taskReader;
+    private Task task;
+    private List<Task> page;
+    private byte[] taskJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        taskWriter = mapper.writerFor(Task.class);
+        listWriter = mapper.writerFor(new TypeReference<List<Task>>() {});
+        taskReader = mapper.readerFor(Task.class);
+        task = Benchmarks.task(1);
+        page = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            page.add(Benchmarks.task(i));
+        }
+        taskJson = taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws Exception {
+        return taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializePageOf100() throws Exception {
+        return listWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Task deserializeTask() throws Exception {
+        return taskReader.readValue(taskJson);
+    }
+}
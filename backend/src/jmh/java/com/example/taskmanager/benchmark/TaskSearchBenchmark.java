@@ -0,0 +1,86 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.service.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of TaskSearchIndex results over a heap index of synthetic tasks whose words follow a
+ * skewed distribution, so common words match a large share of the index as they would in real
+ * text. The index is filled directly, without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int PAGE = 20;
+
+    @Param({"1000000"})
+    public int tasks;
+
+    private TaskSearchIndex index;
+
+    @Setup
+    public void setUp() throws Exception {
+        index = new TaskSearchIndex(null, "", 60_000);
+        Random random = new Random(42);
+        for (long id = 1; id <= tasks; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle(words(random, 4));
+            task.setDescription(words(random, 60));
+            index.onTaskChanged(TaskChangedEvent.created(task));
+        }
+        index.refresh();
+    }
+
+    // Low-numbered words are common: word n turns up about n^(2/3) times less often than word 1.
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int word = (int) (VOCABULARY * Math.pow(random.nextDouble(), 3));
+            text.append(i > 0 ? " " : "").append("word").append(word);
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public List<Long> commonWord() {
+        return index.search("word1", 0, PAGE + 1);
+    }
+
+    @Benchmark
+    public List<Long> twoWords() {
+        return index.search("word3 word40", 0, PAGE + 1);
+    }
+
+    @Benchmark
+    public List<Long> rareWordPrefix() {
+        return index.search("word1999", 0, PAGE + 1);
+    }
+
+    @Benchmark
+    public List<Long> deepPage() {
+        return index.search("word2", 1000, PAGE + 1);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.config.TaskProtobufHttpMessageConverter;
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a task and a page of 100 in each representation the API offers. The
+ * payload sizes are printed once per format at setup, as JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private ObjectWriter taskWriter;
+    private ObjectWriter listWriter;
+    private ObjectReader taskReader;
+    private ObjectReader listReader;
+    private Task task;
+    private List<Task> page;
+    private byte[] taskBytes;
+    private byte[] pageBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        ObjectMapper mapper = builder.build();
+        taskWriter = mapper.writerFor(Task.class);
+        listWriter = mapper.writerFor(new TypeReference<List<Task>>() {});
+        taskReader = mapper.readerFor(Task.class);
+        listReader = mapper.readerFor(new TypeReference<List<Task>>() {});
+        task = identified(1);
+        page = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            page.add(identified(i));
+        }
+        taskBytes = encodeTask();
+        pageBytes = encodePageOf100();
+        System.out.printf("%n%s: task %d bytes, page of 100 %d bytes%n", format, taskBytes.length, pageBytes.length);
+    }
+
+    // Tasks as the API returns them, with id and version.
+    private static Task identified(long n) {
+        Task task = Benchmarks.task(n);
+        task.setId(n);
+        task.setVersion(3L);
+        return task;
+    }
+
+    @Benchmark
+    public byte[] encodeTask() throws IOException {
+        if ("protobuf".equals(format)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            TaskProtobufHttpMessageConverter.writeTask(out, task);
+            out.flush();
+            return bytes.toByteArray();
+        }
+        return taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] encodePageOf100() throws IOException {
+        if ("protobuf".equals(format)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            TaskProtobufHttpMessageConverter.writeTaskList(out, page);
+            out.flush();
+            return bytes.toByteArray();
+        }
+        return listWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Task decodeTask() throws IOException {
+        if ("protobuf".equals(format)) {
+            return TaskProtobufHttpMessageConverter.readTask(CodedInputStream.newInstance(taskBytes));
+        }
+        return taskReader.readValue(taskBytes);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> decodePageOf100() throws IOException {
+        if ("protobuf".equals(format)) {
+            return TaskProtobufHttpMessageConverter.readTaskList(CodedInputStream.newInstance(pageBytes));
+        }
+        return listReader.readValue(pageBytes);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanager.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.example.taskmanager.model.TaskBatchOperation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+/**
+ * Enforces {@code taskmanager.batch.max-size} while a batch request is read rather than after:
+ * a list of {@link TaskBatchOperation} stops deserializing at the first operation past the limit,
+ * so an oversized batch is refused without materializing it. The module is registered with
+ * Boot's mapper builder, so every message converter built from that mapper applies it.
+ */
+@Configuration
+@Profile("!reactive")
+public class BatchSizeLimitConfig {
+
+    @Bean
+    Module batchSizeLimit(@Value("${taskmanager.batch.max-size:5000}") int maxBatchSize) {
+        SimpleModule module = new SimpleModule("BatchSizeLimit");
+        module.setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyCollectionDeserializer(DeserializationConfig config, CollectionType type,
+                                                                    BeanDescription beanDesc,
+                                                                    JsonDeserializer<?> deserializer) {
+                return type.getContentType().hasRawClass(TaskBatchOperation.class)
+                        ? new LimitedBatchDeserializer(maxBatchSize)
+                        : deserializer;
+            }
+        });
+        return module;
+    }
+
+    /**
+     * Thrown while reading a batch with more than {@code taskmanager.batch.max-size} operations.
+     */
+    public static class BatchTooLargeException extends RuntimeException {
+
+        public BatchTooLargeException(int maxBatchSize) {
+            super("Batch exceeds " + maxBatchSize + " operations");
+        }
+    }
+
+    private static final class LimitedBatchDeserializer extends JsonDeserializer<List<TaskBatchOperation>> {
+
+        private final int maxBatchSize;
+
+        private LimitedBatchDeserializer(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<TaskBatchOperation> deserialize(JsonParser parser, DeserializationContext context)
+                throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (List<TaskBatchOperation>) context.handleUnexpectedToken(List.class, parser);
+            }
+            List<TaskBatchOperation> operations = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (operations.size() == maxBatchSize) {
+                    throw new BatchTooLargeException(maxBatchSize);
+                }
+                operations.add(token == JsonToken.VALUE_NULL
+                        ? null
+                        : context.readValue(parser, TaskBatchOperation.class));
+            }
+            return operations;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Gzip for {@code /api/tasks} responses of at least {@code taskmanager.compression.min-size}
+ * bytes (see {@link ResponseCompressionFilter}). Brotli is only offered for the frontend bundle,
+ * which is compressed once at build time; there is no pure-Java brotli encoder to do it per
+ * response. Set {@code taskmanager.compression.enabled=false} to turn it off, e.g. behind a
+ * proxy that compresses.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taskmanager.compression.enabled", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${taskmanager.compression.min-size:2048}") int minSize) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCompressionFilter(minSize));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        return registration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskmanager.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.taskmanager.jfr.SqlStatementCounter;
+import com.example.taskmanager.jfr.TaskRepositoryRecorder;
+import com.example.taskmanager.jfr.TaskRequestRecorder;
+
+/**
+ * Installs the JDK Flight Recorder instrumentation: request events for {@code /api/tasks},
+ * repository call events and the per-thread SQL statement count both report. The events are
+ * only written while a recording that enables them runs, e.g.
+ * {@code jcmd <pid> JFR.start name=tasks settings=profile}, so they can be switched on and off
+ * in production without a restart. Set {@code taskmanager.jfr.enabled=false} to leave the
+ * hooks out entirely.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taskmanager.jfr.enabled", matchIfMissing = true)
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TaskRequestRecorder()).addPathPatterns("/api/tasks", "/api/tasks/**");
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, SqlStatementCounter.INSTANCE);
+    }
+
+    // Static so the post-processor doesn't force this configuration to be created early.
+    @Bean
+    static BeanPostProcessor repositoryRecorder() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0,
+                                    new TaskRepositoryRecorder(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.taskmanager.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.mvc.ParameterizableViewController;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+/**
+ * Serves the built frontend ({@code npm run build}) from {@code taskmanager.frontend.location},
+ * so one process can host both the UI and the API. For each file the {@code .br} or {@code .gz}
+ * variant written by the build is picked when {@code Accept-Encoding} allows it, and large files
+ * go out through {@link SendfileResourceHttpMessageConverter}. Hashed files under
+ * {@code /assets/} are cached for a year; {@code index.html} and the favicon are revalidated on
+ * each load so a new build is picked up. Only the paths a Vite build produces are mapped, so
+ * other static resources (such as the Swagger UI webjars) and unknown URLs are still left to
+ * Boot's own handlers.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taskmanager.frontend.enabled", matchIfMissing = true)
+public class FrontendConfig {
+
+    @Bean
+    SimpleUrlHandlerMapping frontendHandlerMapping(ResourceLoader resourceLoader,
+            @Value("${taskmanager.frontend.location:file:../frontend/dist/}") String location) throws Exception {
+        Resource root = resourceLoader.getResource(location.endsWith("/") ? location : location + "/");
+        ParameterizableViewController welcomePage = new ParameterizableViewController();
+        welcomePage.setViewName("forward:/index.html");
+        ResourceHttpRequestHandler pages = handler(root, CacheControl.noCache());
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(
+                "/", welcomePage,
+                "/assets/**", handler(root.createRelative("assets/"),
+                        CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()),
+                "/index.html", pages,
+                "/favicon.ico", pages));
+        // Ahead of Boot's catch-all static resource mapping, after controllers.
+        mapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return mapping;
+    }
+
+    private static ResourceHttpRequestHandler handler(Resource location, CacheControl cacheControl)
+            throws Exception {
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(location));
+        handler.setResourceResolvers(List.of(new EncodedResourceResolver(), new PathResourceResolver()));
+        handler.setResourceHttpMessageConverter(new SendfileResourceHttpMessageConverter());
+        handler.setCacheControl(cacheControl);
+        handler.afterPropertiesSet();
+        return handler;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskmanager.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps how many threads may hold a JDBC connection at once. With virtual threads every request
+ * gets its own thread, so without a cap thousands of them would pile up inside the connection
+ * pool and time out there. Waiters queue fairly on a semaphore instead, which parks a virtual
+ * thread without holding its carrier, and give up with a transient SQL error after
+ * {@code taskmanager.jdbc.acquire-timeout-ms}.
+ *
+ * <p>Enabled by setting {@code taskmanager.jdbc.max-concurrency}, normally to the pool size.
+ */
+@Component
+@ConditionalOnProperty("taskmanager.jdbc.max-concurrency")
+public class JdbcConcurrencyLimiter implements BeanPostProcessor {
+
+    private final int maxConcurrency;
+    private final long acquireTimeoutMillis;
+
+    public JdbcConcurrencyLimiter(@Value("${taskmanager.jdbc.max-concurrency}") int maxConcurrency,
+                                  @Value("${taskmanager.jdbc.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+            return new LimitedDataSource(dataSource, new Semaphore(maxConcurrency, true), acquireTimeoutMillis);
+        }
+        return bean;
+    }
+
+    static final class LimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final long acquireTimeoutMillis;
+
+        LimitedDataSource(DataSource target, Semaphore permits, long acquireTimeoutMillis) {
+            super(target);
+            this.permits = permits;
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return releasingOnClose(super.getConnection());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return releasingOnClose(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        int availablePermits() {
+            return permits.availablePermits();
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "No JDBC permit available after " + acquireTimeoutMillis + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC permit", e);
+            }
+        }
+
+        // The permit goes back exactly once, however many times the caller closes the connection.
+        private Connection releasingOnClose(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                permits.release();
+                            }
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
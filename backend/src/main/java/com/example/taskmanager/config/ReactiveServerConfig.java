@@ -0,0 +1,21 @@
+package com.example.taskmanager.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the reactive profile on Netty. Tomcat is also on the classpath for the servlet stack and
+ * would otherwise be picked first, serving WebFlux from its request thread pool instead of a
+ * small fixed set of event loops.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
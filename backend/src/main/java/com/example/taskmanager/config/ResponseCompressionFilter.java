@@ -0,0 +1,363 @@
+package com.example.taskmanager.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Gzips API responses of at least {@code minSize} bytes for clients that accept it. Below that
+ * size the body is held back, so small responses go out unchanged with their Content-Length;
+ * once it is reached, compression starts and the rest streams through, so NDJSON exports and
+ * unpaged lists are never buffered whole.
+ *
+ * <p>Requests that go async, and writers that switch to non-blocking output, get the body
+ * uncompressed: the filter can't finish a gzip stream written after it returned, nor buffer
+ * behind a write listener's back.
+ *
+ * <p>Tomcat's own compression skips responses with a strong ETag, which every task response
+ * has. Here the ETag of a compressed response gets a {@code -gzip} suffix instead, as the
+ * compressed bytes are a different representation; {@code TaskETags} ignores the suffix when a
+ * tag comes back in {@code If-None-Match} or {@code If-Match}.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String ETAG_SUFFIX = "-gzip";
+
+    private static final List<MediaType> COMPRESSIBLE = List.of(
+            MediaType.APPLICATION_JSON,
+            new MediaType("application", "*+json"),
+            MediaType.APPLICATION_NDJSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"),
+            TaskProtobufHttpMessageConverter.PROTOBUF);
+
+    private final int minSize;
+
+    public ResponseCompressionFilter(int minSize) {
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Server-sent events are written long after the filter returns and must not be held back.
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return "HEAD".equals(request.getMethod())
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE))
+                || request.getRequestURI().endsWith("/events");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponse compressing = new CompressingResponse(request, response);
+        chain.doFilter(request, compressing);
+        if (request.isAsyncStarted()) {
+            // The rest of the body is written from another thread after this filter returns.
+            compressing.passThrough();
+        } else {
+            compressing.finish();
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            String coding = parts[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private ThresholdOutputStream stream;
+        private PrintWriter writer;
+        // Held back until it is known whether the body goes out compressed.
+        private long contentLength = -1;
+        private boolean decided;
+        private boolean compressed;
+
+        private CompressingResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (stream == null) {
+                stream = new ThresholdOutputStream();
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            contentLength(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            contentLength(length);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength(value == null ? -1 : Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        // The length of the uncompressed body is dropped once the body goes out compressed.
+        private void contentLength(long length) {
+            if (!decided) {
+                contentLength = length;
+            } else if (!compressed) {
+                response.setContentLengthLong(length);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (stream != null) {
+                stream.discardPending();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (stream != null) {
+                stream.discardPending();
+            }
+            contentLength = -1;
+            super.reset();
+        }
+
+        void passThrough() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.decideUncompressed();
+            } else {
+                decided = true;
+                if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.close();
+            } else if (contentLength >= 0) {
+                response.setContentLengthLong(contentLength);
+            }
+        }
+
+        private boolean compressible() {
+            if (response.getStatus() != HttpServletResponse.SC_OK
+                    || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                    || response.getContentType() == null) {
+                return false;
+            }
+            try {
+                MediaType type = MediaType.parseMediaType(response.getContentType());
+                return COMPRESSIBLE.stream().anyMatch(candidate -> candidate.includes(type));
+            } catch (InvalidMediaTypeException e) {
+                return false;
+            }
+        }
+
+        private final class ThresholdOutputStream extends ServletOutputStream {
+
+            // Bytes written while it is still open whether to compress; null once decided.
+            private ByteArrayOutputStream pending = new ByteArrayOutputStream(minSize);
+            private OutputStream target;
+            // The container's stream when the body goes out uncompressed.
+            private ServletOutputStream plain;
+            private boolean closed;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (target == null && pending.size() + length >= minSize) {
+                    decide(true);
+                }
+                if (target == null) {
+                    pending.write(bytes, offset, length);
+                } else {
+                    target.write(bytes, offset, length);
+                }
+            }
+
+            // A flush before the threshold means the body is small or the writer wants it out now.
+            @Override
+            public void flush() throws IOException {
+                if (target == null) {
+                    decide(false);
+                }
+                target.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (target == null) {
+                    if (contentLength < 0) {
+                        contentLength = pending.size();
+                    }
+                    decide(false);
+                }
+                target.close();
+            }
+
+            void discardPending() {
+                if (pending != null) {
+                    pending.reset();
+                }
+            }
+
+            void decideUncompressed() throws IOException {
+                if (target == null) {
+                    decide(false);
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return plain == null || plain.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                if (compressed) {
+                    throw new IllegalStateException("Non-blocking output must start before the body is written");
+                }
+                try {
+                    decideUncompressed();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                plain.setWriteListener(listener);
+            }
+
+            private void decide(boolean overThreshold) throws IOException {
+                decided = true;
+                if (overThreshold && !request.isAsyncStarted() && compressible()) {
+                    compressed = true;
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    String etag = response.getHeader(HttpHeaders.ETAG);
+                    if (etag != null && !etag.startsWith("W/") && etag.endsWith("\"")) {
+                        response.setHeader(HttpHeaders.ETAG,
+                                etag.substring(0, etag.length() - 1) + ETAG_SUFFIX + "\"");
+                    }
+                    target = new GZIPOutputStream(response.getOutputStream(), 8192, true);
+                } else {
+                    if (contentLength >= 0) {
+                        response.setContentLengthLong(contentLength);
+                    }
+                    plain = response.getOutputStream();
+                    target = plain;
+                }
+                pending.writeTo(target);
+                pending = null;
+            }
+        }
+    }
+}
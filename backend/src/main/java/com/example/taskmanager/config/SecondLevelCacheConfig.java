@@ -0,0 +1,71 @@
+package com.example.taskmanager.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Hibernate second-level cache for tasks, held in Caffeine through JCache. The {@code tasks}
+ * region is bounded by entry count ({@code taskmanager.cache.tasks.max-size}) and time since
+ * the last write ({@code taskmanager.cache.tasks.ttl}), and is the only region: a missing one
+ * fails startup rather than silently growing without bounds.
+ *
+ * <p>Hits, misses, puts and evictions are exported as {@code cache.*} meters, next to
+ * Hibernate's per-region {@code hibernate.second.level.cache.*} statistics.
+ */
+@Configuration
+@Profile("!reactive")
+public class SecondLevelCacheConfig {
+
+    static final String TASKS_REGION = "tasks";
+
+    /**
+     * A cache manager of the application's own; the provider's default one is shared by every
+     * session factory in the JVM, which would mix entries from different databases.
+     */
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager(@Value("${taskmanager.cache.tasks.max-size:10000}") long maxSize,
+                                         @Value("${taskmanager.cache.tasks.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("taskmanager:" + UUID.randomUUID()), getClass().getClassLoader());
+        CaffeineConfiguration<Object, Object> tasks = new CaffeineConfiguration<>();
+        tasks.setMaximumSize(OptionalLong.of(maxSize));
+        tasks.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        tasks.setStatisticsEnabled(true);
+        cacheManager.createCache(TASKS_REGION, tasks);
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(TASKS_REGION));
+    }
+}
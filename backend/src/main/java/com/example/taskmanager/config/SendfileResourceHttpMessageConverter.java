@@ -0,0 +1,60 @@
+package com.example.taskmanager.config;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Writes file resources of {@value #MIN_SENDFILE_BYTES} bytes or more with Tomcat's sendfile,
+ * so the kernel copies the file to the socket without it passing through the JVM. Tomcat
+ * announces support with a request attribute (NIO connectors do, unless connector compression
+ * is on); without it, and for smaller files or resources inside a jar, the content is copied as
+ * usual.
+ */
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    // Tomcat's DefaultServlet uses the same cut-off; below it a copy is cheaper than the handoff.
+    static final long MIN_SENDFILE_BYTES = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        File file = request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                ? fileOf(resource) : null;
+        if (file == null || file.length() < MIN_SENDFILE_BYTES) {
+            super.writeContent(resource, outputMessage);
+            return;
+        }
+        request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, file.length());
+        // Commits the headers; Tomcat then sends the file once the request completes.
+        outputMessage.getBody().flush();
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest() : null;
+    }
+
+    private static File fileOf(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return file.isFile() ? file : null;
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.taskmanager.config;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Reads and writes tasks and lists of tasks as Protocol Buffers ({@code application/x-protobuf}),
+ * following the {@code Task} and {@code TaskList} messages in {@code src/main/proto/task.proto}.
+ * The messages are encoded straight from and to {@link Task}, so there are no generated classes
+ * to map. As with JSON, {@code version} and {@code change_seq} are ignored on input.
+ */
+public class TaskProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int ID = tag(1, WireFormat.WIRETYPE_VARINT);
+    private static final int TITLE = tag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int DESCRIPTION = tag(3, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int STATUS = tag(4, WireFormat.WIRETYPE_VARINT);
+    private static final int DUE_DATE = tag(5, WireFormat.WIRETYPE_VARINT);
+    private static final int TASKS = tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+
+    public TaskProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    // Producible media types are looked up by the value's class alone, so any collection may be
+    // a task list here; canRead and canWrite narrow that down with the generic type.
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Task.class || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (type == Task.class || isTaskList(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        // A wildcard such as ResponseEntity<?> says nothing; the value's class decides then.
+        Type target = type instanceof Class<?> || type instanceof ParameterizedType ? type : clazz;
+        return (target == Task.class || isTaskList(target)) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(inputMessage.getBody());
+        try {
+            return isTaskList(type) ? readTaskList(in) : readTask(in);
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf task: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (value instanceof Task task) {
+            writeTask(out, task);
+        } else {
+            writeTaskList(out, (Collection<Task>) value);
+        }
+        out.flush();
+    }
+
+    public static void writeTask(CodedOutputStream out, Task task) throws IOException {
+        if (task.getId() != null) {
+            out.writeInt64(1, task.getId());
+        }
+        if (task.getTitle() != null) {
+            out.writeString(2, task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            out.writeString(3, task.getDescription());
+        }
+        if (task.getStatus() != null) {
+            out.writeEnum(4, statusNumber(task.getStatus()));
+        }
+        if (task.getDueDate() != null) {
+            out.writeSInt32(5, Math.toIntExact(task.getDueDate().toEpochDay()));
+        }
+        if (task.getVersion() != null) {
+            out.writeInt64(6, task.getVersion());
+        }
+        if (task.getChangeSeq() != null) {
+            out.writeInt64(7, task.getChangeSeq());
+        }
+    }
+
+    public static void writeTaskList(CodedOutputStream out, Collection<Task> tasks) throws IOException {
+        for (Task task : tasks) {
+            out.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(taskSize(task));
+            writeTask(out, task);
+        }
+    }
+
+    public static Task readTask(CodedInputStream in) throws IOException {
+        Task task = new Task();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            if (tag == ID) {
+                task.setId(in.readInt64());
+            } else if (tag == TITLE) {
+                task.setTitle(in.readStringRequireUtf8());
+            } else if (tag == DESCRIPTION) {
+                task.setDescription(in.readStringRequireUtf8());
+            } else if (tag == STATUS) {
+                task.setStatus(status(in.readEnum()));
+            } else if (tag == DUE_DATE) {
+                task.setDueDate(LocalDate.ofEpochDay(in.readSInt32()));
+            } else if (!in.skipField(tag)) {
+                break;
+            }
+        }
+        return task;
+    }
+
+    public static List<Task> readTaskList(CodedInputStream in) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            if (tag == TASKS) {
+                int limit = in.pushLimit(in.readRawVarint32());
+                tasks.add(readTask(in));
+                in.popLimit(limit);
+            } else if (!in.skipField(tag)) {
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    private static int taskSize(Task task) {
+        int size = 0;
+        if (task.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, task.getId());
+        }
+        if (task.getTitle() != null) {
+            size += CodedOutputStream.computeStringSize(2, task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            size += CodedOutputStream.computeStringSize(3, task.getDescription());
+        }
+        if (task.getStatus() != null) {
+            size += CodedOutputStream.computeEnumSize(4, statusNumber(task.getStatus()));
+        }
+        if (task.getDueDate() != null) {
+            size += CodedOutputStream.computeSInt32Size(5, Math.toIntExact(task.getDueDate().toEpochDay()));
+        }
+        if (task.getVersion() != null) {
+            size += CodedOutputStream.computeInt64Size(6, task.getVersion());
+        }
+        if (task.getChangeSeq() != null) {
+            size += CodedOutputStream.computeInt64Size(7, task.getChangeSeq());
+        }
+        return size;
+    }
+
+    // Explicit numbers, so reordering the Java enum can't change the wire format.
+    private static int statusNumber(TaskStatus status) {
+        return switch (status) {
+            case TODO -> 1;
+            case IN_PROGRESS -> 2;
+            case DONE -> 3;
+        };
+    }
+
+    private static TaskStatus status(int number) throws InvalidProtocolBufferException {
+        return switch (number) {
+            case 0, 1 -> TaskStatus.TODO;
+            case 2 -> TaskStatus.IN_PROGRESS;
+            case 3 -> TaskStatus.DONE;
+            default -> throw new InvalidProtocolBufferException("Unknown task status " + number);
+        };
+    }
+
+    private static boolean isTaskList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && (raw == List.class || raw == Collection.class)
+                && parameterized.getActualTypeArguments()[0] == Task.class;
+    }
+
+    private static int tag(int field, int wireType) {
+        return field << 3 | wireType;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanager.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary representations chosen by {@code Accept} and {@code Content-Type}: CBOR
+ * ({@code application/cbor}), Smile ({@code application/x-jackson-smile}) and, for tasks and
+ * task lists, Protocol Buffers ({@code application/x-protobuf}). CBOR and Smile use a mapper
+ * built like the JSON one, so all three Jackson formats carry the same fields and ISO dates.
+ * JSON stays first in the list, so it is still what a client that accepts anything gets.
+ */
+@Configuration
+@Profile("!reactive")
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder cborBuilder;
+    private final Jackson2ObjectMapperBuilder smileBuilder;
+
+    // The builder is a prototype bean, so each parameter gets its own instance.
+    public WireFormatConfig(Jackson2ObjectMapperBuilder cborBuilder, Jackson2ObjectMapperBuilder smileBuilder) {
+        this.cborBuilder = cborBuilder;
+        this.smileBuilder = smileBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replaceOrAdd(converters, new MappingJackson2CborHttpMessageConverter(
+                cborBuilder.factory(new CBORFactory()).build()));
+        replaceOrAdd(converters, new MappingJackson2SmileHttpMessageConverter(
+                smileBuilder.factory(new SmileFactory()).build()));
+        converters.add(new TaskProtobufHttpMessageConverter());
+    }
+
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == converter.getClass()) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.taskmanager.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.ReactiveTaskRepository;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux implementation of the {@code /api/tasks} contract for the {@code reactive} profile.
+ * Rows flow from R2DBC to the socket as a {@link Flux}, so a slow client slows the query down
+ * instead of making the server buffer the result.
+ *
+ * <p>Lists support the status and due date filters, keyset paging and {@code unpaged=true}, but
+ * only sort by id. Batch, change feed and event stream endpoints exist only in the servlet
+ * variant, and ETags carry the id and version alone, so {@code If-None-Match} is checked after
+ * reading the task.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = {HttpHeaders.LINK, HttpHeaders.ETAG})
+public class ReactiveTaskController {
+
+    private final ReactiveTaskRepository repository;
+
+    public ReactiveTaskController(ReactiveTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<Task>>> all(@RequestParam(required = false) TaskStatus status,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dueBefore,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dueAfter,
+                                                @RequestParam(defaultValue = "id") String sort,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "" + TaskController.DEFAULT_PAGE_SIZE) int limit,
+                                                @RequestParam(defaultValue = "false") boolean unpaged,
+                                                ServerHttpRequest request) {
+        boolean descending;
+        if ("id".equals(sort) || "id,asc".equalsIgnoreCase(sort)) {
+            descending = false;
+        } else if ("id,desc".equalsIgnoreCase(sort)) {
+            descending = true;
+        } else {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        if (unpaged) {
+            // Streamed straight through: nothing is collected in memory.
+            return Mono.just(ResponseEntity.ok()
+                    .body(repository.findAll(status, dueBefore, dueAfter, null, descending, null)));
+        }
+        if (limit < 1 || limit > TaskController.MAX_PAGE_SIZE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        String sortKey = "id:" + (descending ? "DESC" : "ASC");
+        Long afterId = null;
+        if (cursor != null) {
+            Optional<TaskCursor> decoded = TaskCursor.decode(cursor, sortKey);
+            if (decoded.isEmpty()) {
+                return Mono.just(ResponseEntity.badRequest().build());
+            }
+            afterId = decoded.get().getLastId();
+        }
+
+        // Fetch one extra row to learn whether a next page exists without a COUNT query.
+        return repository.findAll(status, dueBefore, dueAfter, afterId, descending, limit + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= limit) {
+                        return ResponseEntity.ok().body(Flux.fromIterable(rows));
+                    }
+                    List<Task> page = rows.subList(0, limit);
+                    Task last = page.get(limit - 1);
+                    String next = UriComponentsBuilder.fromUri(request.getURI())
+                            .replaceQueryParam("cursor", TaskCursor.after(sortKey, last.getId(), null, null).encode())
+                            .replaceQueryParam("limit", limit)
+                            .toUriString();
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                            .body(Flux.fromIterable(page));
+                });
+    }
+
+    /**
+     * Every task as newline-delimited JSON, written row by row at the pace the client reads.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> stream() {
+        return repository.findAll(null, null, null, null, false, null);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getById(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return repository.findById(id)
+                .map(task -> {
+                    String etag = TaskETags.ofVersion(task.getId(), task.getVersion());
+                    if (ifNoneMatch != null && TaskETags.anyForVersion(ifNoneMatch, task.getId(), task.getVersion())) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Task>build();
+                    }
+                    return ResponseEntity.ok().eTag(etag).body(task);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Task>> create(@Valid @RequestBody Task incoming) {
+        return repository.insert(incoming)
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(TaskETags.ofVersion(saved.getId(), saved.getVersion()))
+                        .body(saved));
+    }
+
+    /**
+     * Replaces a task; with {@code If-Match} only if it still has that version, otherwise 412.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Task>> update(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @Valid @RequestBody Task incoming) {
+        Long expectedVersion = TaskETags.expectedVersion(ifMatch, id);
+        return repository.update(id, expectedVersion, incoming)
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return missingOrConflict(id, expectedVersion);
+                    }
+                    // The stored row is returned, including the version and change sequence the UPDATE assigned.
+                    return repository.findById(id)
+                            .map(saved -> ResponseEntity.ok().eTag(TaskETags.ofVersion(saved.getId(), saved.getVersion())).body(saved));
+                });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = TaskETags.expectedVersion(ifMatch, id);
+        return repository.delete(id, expectedVersion)
+                .flatMap(deleted -> deleted == 0
+                        ? missingOrConflict(id, expectedVersion)
+                        : Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    private <T> Mono<ResponseEntity<T>> missingOrConflict(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return repository.existsById(id)
+                .map(exists -> exists
+                        ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).<T>build()
+                        : ResponseEntity.notFound().<T>build());
+    }
+}
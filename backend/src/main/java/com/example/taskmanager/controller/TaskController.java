@@ -1,74 +1,685 @@
 package com.example.taskmanager.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.web.SortDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.example.taskmanager.config.BatchSizeLimitConfig;
+import com.example.taskmanager.config.TaskProtobufHttpMessageConverter;
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskBatchOperation;
+import com.example.taskmanager.model.TaskBatchResult;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.model.TaskChangeFeed;
+import com.example.taskmanager.model.TaskStats;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.model.TaskTombstone;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskRepository.StatusCount;
+import com.example.taskmanager.repository.TaskSpecifications;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
+import com.example.taskmanager.service.TaskChangeSequence;
+import com.example.taskmanager.service.TaskChangeTracker;
+import com.example.taskmanager.service.TaskJsonCache;
+import com.example.taskmanager.service.TaskSearchIndex;
+import com.example.taskmanager.service.TaskTitleSuggester;
+import com.example.taskmanager.service.SingleFlight;
+import com.example.taskmanager.service.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/tasks")
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = {HttpHeaders.LINK, HttpHeaders.ETAG})
 public class TaskController {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // Deep result pages cost a ranked window of offset + limit hits; past this, refine the query.
+    static final int MAX_SEARCH_WINDOW = 10_000;
+    static final int DEFAULT_SUGGESTIONS = 10;
+    static final int MAX_SUGGESTIONS = 50;
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "dueDate", "status");
+    private static final List<MediaType> BINARY_TYPES = List.of(MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"), TaskProtobufHttpMessageConverter.PROTOBUF);
+
     private final TaskRepository repository;
+    private final TaskTombstoneRepository tombstones;
+    private final TaskService taskService;
+    private final TaskChangeTracker changeTracker;
+    private final TaskChangeSequence changeSequence;
+    private final TaskJsonCache jsonCache;
+    private final TaskSearchIndex searchIndex;
+    private final TaskTitleSuggester titleSuggester;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final SingleFlight<TaskLoad, TaskJsonCache.Entry> taskLoads;
+    private final SingleFlight<ListLoad, List<Task>> listLoads;
+    private final SingleFlight<StatsLoad, TaskStats> statsLoads;
+    // The last stats computed; valid while the table tag and date it was computed at are current.
+    private volatile StatsSnapshot lastStats;
 
-    public TaskController(TaskRepository repository) {
+    public TaskController(TaskRepository repository, TaskTombstoneRepository tombstones, TaskService taskService,
+                          TaskChangeTracker changeTracker, TaskChangeSequence changeSequence,
+                          TaskJsonCache jsonCache, TaskSearchIndex searchIndex, TaskTitleSuggester titleSuggester,
+                          EntityManager entityManager, ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.tombstones = tombstones;
+        this.taskService = taskService;
+        this.changeTracker = changeTracker;
+        this.changeSequence = changeSequence;
+        this.jsonCache = jsonCache;
+        this.searchIndex = searchIndex;
+        this.titleSuggester = titleSuggester;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Rows are flushed when the servlet buffer fills, not once per row.
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.taskLoads = new SingleFlight<>("task", meterRegistry);
+        this.listLoads = new SingleFlight<>("list", meterRegistry);
+        this.statsLoads = new SingleFlight<>("stats", meterRegistry);
+    }
+
+    // Identical reads at the same table change count share one database load. A read never
+    // joins a load that started before a write it should see, as the write moves the count.
+    private record TaskLoad(String tableTag, Long id) {
+    }
+
+    private record ListLoad(String tableTag, TaskStatus status, LocalDate dueBefore, LocalDate dueAfter,
+                            String sortKey, String cursor, int max) {
+    }
+
+    private record StatsLoad(String tableTag, LocalDate asOf) {
     }
 
+    private record StatsSnapshot(StatsLoad load, TaskStats stats) {
+    }
+
+    /**
+     * Lists tasks one keyset page at a time, optionally filtered by status and due date range and
+     * sorted by {@code id} (default), {@code dueDate}, or {@code status} in workflow order and then
+     * due date; tasks without a due date sort last (within their status). When
+     * more rows follow, the response carries a {@code Link: <...>; rel="next"} header whose URL
+     * holds the continuation cursor. {@code unpaged=true} returns every matching task at once.
+     * The ETag comes from the table change counter and the format the list is written in, so a
+     * matching {@code If-None-Match} is answered with 304 before any query runs.
+     */
     @GetMapping
-    public List<Task> all() {
-        return repository.findAll();
+    public ResponseEntity<List<Task>> all(@RequestParam(required = false) TaskStatus status,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dueBefore,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dueAfter,
+                                          @SortDefault("id") Sort sort,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                          @RequestParam(defaultValue = "false") boolean unpaged,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Read the tag before querying so a concurrent write can only make it look older.
+        String tableTag = changeTracker.currentTag();
+        MediaType format = preferredFormat(accept);
+        String etag = TaskETags.ofList(tableTag, format);
+        if (ifNoneMatch != null && TaskETags.listIssuedAt(ifNoneMatch, tableTag, format)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1 || !SORTABLE_PROPERTIES.contains(orders.get(0).getProperty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Order order = orders.get(0);
+        String sortKey = order.getProperty() + ":" + order.getDirection();
+
+        List<Specification<Task>> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(TaskSpecifications.hasStatus(status));
+        }
+        if (dueBefore != null) {
+            predicates.add(TaskSpecifications.dueBefore(dueBefore));
+        }
+        if (dueAfter != null) {
+            predicates.add(TaskSpecifications.dueAfter(dueAfter));
+        }
+        Specification<Task> filters = predicates.isEmpty() ? null : Specification.allOf(predicates);
+        boolean datedOnly = dueBefore != null || dueAfter != null;
+
+        if (unpaged) {
+            ListLoad load = new ListLoad(tableTag, status, dueBefore, dueAfter, sortKey, null, Integer.MAX_VALUE);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .contentType(format)
+                    .body(fetchWindowOnce(load, filters, datedOnly, order, null));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        TaskCursor after = null;
+        if (cursor != null) {
+            Optional<TaskCursor> decoded = TaskCursor.decode(cursor, sortKey);
+            if (decoded.isEmpty() || ("status".equals(order.getProperty()) && !isStatusRank(decoded.get().getLastStatusRank()))) {
+                return ResponseEntity.badRequest().build();
+            }
+            after = decoded.get();
+        }
+
+        // Fetch one extra row to learn whether a next page exists without a COUNT query.
+        ListLoad load = new ListLoad(tableTag, status, dueBefore, dueAfter, sortKey, cursor, limit + 1);
+        List<Task> rows = fetchWindowOnce(load, filters, datedOnly, order, after);
+        if (rows.size() <= limit) {
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).contentType(format).body(rows);
+        }
+        List<Task> page = rows.subList(0, limit);
+        Task last = page.get(limit - 1);
+        Integer lastStatusRank = "status".equals(order.getProperty()) ? statusRank(last.getStatus()) : null;
+        LocalDate lastDueDate = "id".equals(order.getProperty()) ? null : last.getDueDate();
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", TaskCursor.after(sortKey, last.getId(), lastStatusRank, lastDueDate).encode())
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format)
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page);
+    }
+
+    private List<Task> fetchWindowOnce(ListLoad load, Specification<Task> filters, boolean datedOnly,
+                                       Sort.Order order, TaskCursor after) {
+        return listLoads.load(load, () -> fetchWindow(filters, load.status(), datedOnly, order, after, load.max()));
+    }
+
+    /**
+     * Reads up to {@code max} rows following {@code after}. Each query seeks on an index-backed
+     * key instead of skipping rows. Due date sorts read dated tasks first and then undated ones,
+     * which keeps the null ordering independent of the database. The status sort reads one status
+     * at a time in workflow order, then tasks without a status, each in due date order, so every
+     * query is a range of the {@code (status, due_date)} index. {@code filters} may be null; {@code status} is the status
+     * filter, if any, and already part of {@code filters}.
+     */
+    private List<Task> fetchWindow(Specification<Task> filters, TaskStatus status, boolean datedOnly,
+                                   Sort.Order order, TaskCursor after, int max) {
+        boolean descending = order.isDescending();
+        Sort byId = Sort.by(order.getDirection(), "id");
+        if ("id".equals(order.getProperty())) {
+            if (!descending && filters == null) {
+                return repository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after.getLastId(), Limit.of(max));
+            }
+            Specification<Task> spec = filters;
+            if (after != null) {
+                long lastId = after.getLastId();
+                spec = Specification.where(filters)
+                        .and(descending ? TaskSpecifications.idBefore(lastId) : TaskSpecifications.idAfter(lastId));
+            }
+            return repository.findWindow(spec, byId, max);
+        }
+        if (!"status".equals(order.getProperty())) {
+            return fetchByDueDate(filters, datedOnly, order, after, max);
+        }
+
+        // Positions run over the statuses, backwards when descending, and then tasks without one.
+        int noStatus = TaskStatus.values().length;
+        int first = after == null ? 0 : position(after.getLastStatusRank(), descending);
+        List<Task> rows = new ArrayList<>();
+        for (int i = first; i <= noStatus && rows.size() < max; i++) {
+            int rank = position(i, descending);
+            if (status != null && rank != statusRank(status)) {
+                continue;
+            }
+            Specification<Task> inStatus = Specification.where(filters).and(rank == noStatus
+                    ? TaskSpecifications.hasNoStatus()
+                    : TaskSpecifications.hasStatus(TaskStatus.values()[rank]));
+            rows.addAll(fetchByDueDate(inStatus, datedOnly, order, i == first ? after : null, max - rows.size()));
+        }
+        return rows;
+    }
+
+    // Rank of a status in the status sort: enum order, which is workflow order (the column holds
+    // names, whose order would differ), with tasks that have no status last.
+    private static int statusRank(TaskStatus status) {
+        return status == null ? TaskStatus.values().length : status.ordinal();
+    }
+
+    // Maps a rank to its position in the listing and back; tasks without a status stay last.
+    private static int position(int rank, boolean descending) {
+        int noStatus = TaskStatus.values().length;
+        return descending && rank < noStatus ? noStatus - 1 - rank : rank;
+    }
+
+    private static boolean isStatusRank(Integer rank) {
+        return rank != null && rank >= 0 && rank <= TaskStatus.values().length;
+    }
+
+    // Reads up to max rows following after in due date order, dated tasks first.
+    private List<Task> fetchByDueDate(Specification<Task> filters, boolean datedOnly, Sort.Order order,
+                                      TaskCursor after, int max) {
+        boolean descending = order.isDescending();
+        Sort byId = Sort.by(order.getDirection(), "id");
+        List<Task> rows = new ArrayList<>();
+        boolean inUndatedPhase = after != null && after.getLastDueDate() == null;
+        if (!inUndatedPhase) {
+            Specification<Task> dated = Specification.where(filters).and(TaskSpecifications.hasDueDate());
+            if (after != null) {
+                LocalDate lastDueDate = after.getLastDueDate();
+                long lastId = after.getLastId();
+                dated = dated.and(descending
+                        ? TaskSpecifications.dueDateKeyBefore(lastDueDate, lastId)
+                        : TaskSpecifications.dueDateKeyAfter(lastDueDate, lastId));
+            }
+            rows.addAll(repository.findWindow(dated, Sort.by(order.getDirection(), "dueDate").and(byId), max));
+        }
+        if (rows.size() < max && !datedOnly) {
+            Specification<Task> undated = Specification.where(filters).and(TaskSpecifications.hasNoDueDate());
+            if (inUndatedPhase) {
+                long lastId = after.getLastId();
+                undated = undated.and(descending ? TaskSpecifications.idBefore(lastId) : TaskSpecifications.idAfter(lastId));
+            }
+            rows.addAll(repository.findWindow(undated, byId, max - rows.size()));
+        }
+        return rows;
+    }
+
+    /**
+     * Exports every task as newline-delimited JSON. Rows are read through a forward-only cursor,
+     * written as they arrive and detached, so memory use does not grow with the table size.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void stream(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (Stream<Task> tasks = repository.streamAllOrderById();
+             JsonGenerator generator = ndjsonWriter.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            boolean wroteAny = false;
+            for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+                Task task = it.next();
+                ndjsonWriter.writeValue(generator, task);
+                entityManager.detach(task);
+                wroteAny = true;
+            }
+            if (wroteAny) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Change feed: tasks created or updated and tasks deleted after change sequence {@code since},
+     * oldest first, at most {@code limit} entries. Start with {@code since=0} and pass the returned
+     * {@code next} on the following poll. A task written several times appears once, with its
+     * latest state. Both lookups seek on a change_seq index, so a poll costs O(changes).
+     */
+    @GetMapping("/changes")
+    @Transactional(readOnly = true)
+    public ResponseEntity<TaskChangeFeed> changes(@RequestParam(defaultValue = "0") long since,
+                                                  @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (since < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Stop below writes that are still uncommitted so the cursor cannot move past them.
+        long upTo = changeSequence.visibleUpTo();
+        Limit window = Limit.of(limit + 1);
+        List<Task> upserts = repository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                since, upTo, window);
+        List<TaskTombstone> deletes = tombstones.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                since, upTo, window);
+
+        List<TaskChange> changes = new ArrayList<>(Math.min(limit, upserts.size() + deletes.size()));
+        int u = 0;
+        int d = 0;
+        while (changes.size() < limit && (u < upserts.size() || d < deletes.size())) {
+            boolean takeUpsert = d == deletes.size()
+                    || (u < upserts.size() && upserts.get(u).getChangeSeq() < deletes.get(d).getChangeSeq());
+            changes.add(takeUpsert ? TaskChange.upsert(upserts.get(u++)) : TaskChange.delete(deletes.get(d++)));
+        }
+        boolean hasMore = u < upserts.size() || d < deletes.size();
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return ResponseEntity.ok(new TaskChangeFeed(changes, next, hasMore));
+    }
+
+    /**
+     * Full-text search over titles and descriptions, best match first. Every word of {@code q}
+     * must occur in the title or description, either whole or, from three characters on, as the
+     * start of a word; title matches rank higher. When more hits follow, the response carries a
+     * {@code Link: <...>; rel="next"} header for the next {@code offset}. Results come from
+     * {@link TaskSearchIndex}, so a write may take a moment to show up.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> search(@RequestParam String q,
+                                             @RequestParam(defaultValue = "0") int offset,
+                                             @RequestParam(defaultValue = "" + DEFAULT_SEARCH_PAGE_SIZE) int limit) {
+        if (q.isBlank() || offset < 0 || limit < 1 || limit > MAX_SEARCH_PAGE_SIZE
+                || offset + limit > MAX_SEARCH_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        // One extra hit tells whether a next page exists.
+        List<Long> ids = searchIndex.search(q, offset, limit + 1);
+        boolean hasMore = ids.size() > limit;
+        List<Long> pageIds = hasMore ? ids.subList(0, limit) : ids;
+
+        // Keep the ranking; a task deleted since it was indexed is left out.
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : repository.findAllById(pageIds)) {
+            byId.put(task.getId(), task);
+        }
+        List<Task> page = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Task task = byId.get(id);
+            if (task != null) {
+                page.add(task);
+            }
+        }
+        int nextOffset = offset + limit;
+        int nextLimit = Math.min(limit, MAX_SEARCH_WINDOW - nextOffset);
+        if (!hasMore || nextLimit < 1) {
+            return ResponseEntity.ok(page);
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("offset", nextOffset)
+                .replaceQueryParam("limit", nextLimit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page);
+    }
+
+    /**
+     * Existing titles starting with {@code prefix}, ignoring case, for autocomplete: titles shared
+     * by more tasks first, then alphabetically. Answered from memory by {@link TaskTitleSuggester}
+     * without touching the database.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "" + DEFAULT_SUGGESTIONS) int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(titleSuggester.suggest(prefix, limit));
+    }
+
+    /**
+     * Task counts per status and overdue counts from one GROUP BY query. The result is reused
+     * until a task changes or the date rolls over, so polling dashboards cost no query, and a
+     * matching {@code If-None-Match} is answered with 304 in that time.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> stats(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read the tag before querying so a concurrent write can only make the result look older.
+        String tableTag = changeTracker.currentTag();
+        LocalDate today = LocalDate.now();
+        String etag = TaskETags.ofStats(tableTag, today);
+        if (ifNoneMatch != null && TaskETags.anyMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        StatsLoad load = new StatsLoad(tableTag, today);
+        StatsSnapshot snapshot = lastStats;
+        if (snapshot == null || !snapshot.load().equals(load)) {
+            snapshot = new StatsSnapshot(load, statsLoads.load(load, () -> computeStats(today)));
+            lastStats = snapshot;
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot.stats());
     }
 
+    private TaskStats computeStats(LocalDate today) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Long> overdueByStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+            if (status != TaskStatus.DONE) {
+                overdueByStatus.put(status, 0L);
+            }
+        }
+        long total = 0;
+        long overdue = 0;
+        for (StatusCount count : repository.countByStatus(today)) {
+            total += count.getTotal();
+            if (count.getStatus() == null) {
+                continue;
+            }
+            byStatus.put(count.getStatus(), count.getTotal());
+            if (count.getStatus() != TaskStatus.DONE) {
+                overdueByStatus.put(count.getStatus(), count.getDueBefore());
+                overdue += count.getDueBefore();
+            }
+        }
+        return new TaskStats(today, total, byStatus, overdue, overdueByStatus);
+    }
+
+    /**
+     * Returns one task with an ETag. {@code If-None-Match} is answered with 304 straight from the
+     * table change counter when no task changed since the tag was issued, and otherwise by
+     * comparing the task's version. A JSON body is written from {@link TaskJsonCache} when it
+     * holds the task, so a repeated read neither loads nor serializes it, and concurrent misses
+     * for the same task share one load. Clients that prefer a binary format get the task through
+     * content negotiation instead.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getById(@PathVariable Long id) {
-        Optional<Task> t = repository.findById(id);
-        return t.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> getById(@PathVariable Long id,
+                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String tableTag = changeTracker.currentTag();
+        MediaType format = preferredFormat(accept);
+        Long unchanged = ifNoneMatch == null ? null : TaskETags.versionIssuedAt(ifNoneMatch, id, tableTag, format);
+        if (unchanged != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(TaskETags.ofTask(id, unchanged, tableTag, format))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        if (!format.equals(MediaType.APPLICATION_JSON)) {
+            Optional<Task> task = repository.findById(id);
+            if (task.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = TaskETags.ofTask(id, task.get().getVersion(), tableTag, format);
+            if (ifNoneMatch != null && TaskETags.anyForVersion(ifNoneMatch, id, task.get().getVersion(), format)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).contentType(format).body(task.get());
+        }
+        TaskJsonCache.Entry entry = jsonCache.get(id);
+        if (entry == null) {
+            entry = taskLoads.load(new TaskLoad(tableTag, id),
+                    () -> repository.findById(id).map(jsonCache::put).orElse(null));
+            if (entry == null) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+        String etag = TaskETags.ofTask(id, entry.getVersion(), tableTag);
+        if (ifNoneMatch != null && TaskETags.anyForVersion(ifNoneMatch, id, entry.getVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.getJson());
+    }
+
+    /**
+     * The format a task or task list is written in: JSON unless the {@code Accept} header ranks
+     * one of the binary formats above it. Headers naming none of the formats keep the JSON
+     * default, as before they existed. Responses are written in this format whatever the header
+     * says, so their ETag can name it.
+     */
+    static MediaType preferredFormat(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = null;
+        for (MediaType type : accepted) {
+            boolean known = type.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    || BINARY_TYPES.stream().anyMatch(type::isCompatibleWith);
+            if (known && (best == null || type.getQualityValue() > best.getQualityValue())) {
+                best = type;
+            }
+        }
+        if (best == null || best.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType chosen = best;
+        return BINARY_TYPES.stream().filter(chosen::isCompatibleWith).findFirst().orElseThrow();
     }
 
+    /**
+     * Replaces a task. With {@code If-Match} set to the ETag from GET the update only
+     * applies if nobody changed the task in the meantime, otherwise 412 is returned.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Task> update(@PathVariable Long id, @Valid @RequestBody Task incoming) {
-        return repository.findById(id).map(existing -> {
-            existing.setTitle(incoming.getTitle());
-            existing.setDescription(incoming.getDescription());
-            existing.setStatus(incoming.getStatus());
-            existing.setDueDate(incoming.getDueDate());
-            Task saved = repository.save(existing);
-            return ResponseEntity.ok(saved);
-        }).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Task> update(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @Valid @RequestBody Task incoming) {
+        // Tags issued for a write use the counter from before it, so they never vouch for
+        // changes that commit concurrently with this one.
+        String tableTag = changeTracker.currentTag();
+        return taskService.update(id, TaskETags.expectedVersion(ifMatch, id), incoming)
+                .map(saved -> ResponseEntity.ok()
+                        .eTag(TaskETags.ofTask(saved.getId(), saved.getVersion(), tableTag))
+                        .body(saved))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Updates only the fields present in a JSON Merge Patch (RFC 7396), e.g.
+     * {@code {"status": "DONE"}}; {@code null} clears a field. Only those fields are validated
+     * and written. {@code If-Match} works as for PUT. Invalid values give 400 with one message
+     * per field.
+     */
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patch(@PathVariable Long id,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                   @RequestBody ObjectNode patch) {
+        Set<String> fields = new HashSet<>();
+        patch.fieldNames().forEachRemaining(field -> {
+            if (TaskService.PATCHABLE_FIELDS.contains(field)) {
+                fields.add(field);
+            }
+        });
+        Task values;
+        try {
+            values = objectMapper.treeToValue(patch, Task.class);
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? "patch" : e.getPath().get(0).getFieldName();
+            return ResponseEntity.badRequest().body(List.of(field + ": invalid value"));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(List.of("patch: invalid value"));
+        }
+        List<String> errors = taskService.validatePatch(values, fields);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+        String tableTag = changeTracker.currentTag();
+        return taskService.patch(id, TaskETags.expectedVersion(ifMatch, id), values, fields)
+                .<ResponseEntity<?>>map(saved -> ResponseEntity.ok()
+                        .eTag(TaskETags.ofTask(saved.getId(), saved.getVersion(), tableTag))
+                        .body(saved))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
     public ResponseEntity<Task> create(@Valid @RequestBody Task incoming) {
-        Task toSave = new Task();
-        toSave.setTitle(incoming.getTitle());
-        toSave.setDescription(incoming.getDescription());
-        toSave.setStatus(incoming.getStatus());
-        toSave.setDueDate(incoming.getDueDate());
-        Task saved = repository.save(toSave);
-        return ResponseEntity.status(201).body(saved);
+        String tableTag = changeTracker.currentTag();
+        Task saved = taskService.create(incoming);
+        return ResponseEntity.status(201)
+                .eTag(TaskETags.ofTask(saved.getId(), saved.getVersion(), tableTag))
+                .body(saved);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        return repository.findById(id).map(t -> {
-            repository.deleteById(id);
-            return ResponseEntity.noContent().<Void>build();
-        }).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!taskService.delete(id, TaskETags.expectedVersion(ifMatch, id))) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Applies many create/update/delete operations in one request and one transaction. The batch
+     * is validated up front: if any operation is invalid nothing is written and the response is
+     * 400 with the offending operations. Otherwise the response lists one result per operation.
+     * A batch over {@code taskmanager.batch.max-size} is refused with 413 while it is still being
+     * read, see {@link BatchSizeLimitConfig}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> batch(@RequestBody List<TaskBatchOperation> operations) {
+        List<TaskBatchResult> invalid = taskService.validateBatch(operations);
+        if (!invalid.isEmpty()) {
+            return ResponseEntity.badRequest().body(invalid);
+        }
+        return ResponseEntity.ok(taskService.applyBatch(operations));
+    }
+
+    @ExceptionHandler(BatchSizeLimitConfig.BatchTooLargeException.class)
+    public ResponseEntity<Void> batchTooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> versionConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
     }
 }
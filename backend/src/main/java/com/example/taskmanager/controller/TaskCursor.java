@@ -0,0 +1,81 @@
+package com.example.taskmanager.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque continuation token for keyset pagination of the task list. It records the sort it was
+ * issued for and the sort key of the last row returned. Clients must treat the encoded form as
+ * an opaque string.
+ */
+final class TaskCursor {
+
+    private static final String VERSION = "v3";
+    private static final String SEPARATOR = "|";
+
+    private final String sortKey;
+    private final long lastId;
+    private final Integer lastStatusRank;
+    private final LocalDate lastDueDate;
+
+    private TaskCursor(String sortKey, long lastId, Integer lastStatusRank, LocalDate lastDueDate) {
+        this.sortKey = sortKey;
+        this.lastId = lastId;
+        this.lastStatusRank = lastStatusRank;
+        this.lastDueDate = lastDueDate;
+    }
+
+    static TaskCursor after(String sortKey, long lastId, Integer lastStatusRank, LocalDate lastDueDate) {
+        return new TaskCursor(sortKey, lastId, lastStatusRank, lastDueDate);
+    }
+
+    long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Position of the last row's status in the status sort, for status sorted pages;
+     * {@code null} for other sorts.
+     */
+    Integer getLastStatusRank() {
+        return lastStatusRank;
+    }
+
+    /**
+     * Due date of the last row for due-date and status sorted pages; {@code null} once the page
+     * has moved past every dated task (of that status), or for id sorted pages.
+     */
+    LocalDate getLastDueDate() {
+        return lastDueDate;
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortKey, Long.toString(lastId),
+                lastStatusRank == null ? "" : lastStatusRank.toString(),
+                lastDueDate == null ? "" : lastDueDate.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()} for the same sort; empty if the token is
+     * malformed or was issued for a different sort.
+     */
+    static Optional<TaskCursor> decode(String token, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || !expectedSortKey.equals(parts[1])) {
+                return Optional.empty();
+            }
+            long lastId = Long.parseLong(parts[2]);
+            Integer lastStatusRank = parts[3].isEmpty() ? null : Integer.valueOf(parts[3]);
+            LocalDate lastDueDate = parts[4].isEmpty() ? null : LocalDate.parse(parts[4]);
+            return Optional.of(new TaskCursor(expectedSortKey, lastId, lastStatusRank, lastDueDate));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
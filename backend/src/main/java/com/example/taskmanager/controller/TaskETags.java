@@ -0,0 +1,190 @@
+package com.example.taskmanager.controller;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.example.taskmanager.config.TaskProtobufHttpMessageConverter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Strong entity tags for task responses. A single task's tag is
+ * {@code "<id>.<version>.<table tag>"}: the version drives If-Match, and the table tag from
+ * {@link com.example.taskmanager.service.TaskChangeTracker} lets If-None-Match be answered
+ * without loading the task when nothing has changed. List tags are {@code "L.<table tag>"}, and
+ * stats tags {@code "<table tag>@<date>"} as overdue counts also change at midnight. Every tag
+ * names its resource, so one resource's tag never matches another's. Task and list tags of a
+ * binary representation end in a format suffix such as {@code -cbor}, as the bodies differ;
+ * If-None-Match compares it and If-Match ignores it. A tag may come back with the {@code -gzip}
+ * suffix the compression filter adds; it names the same entity.
+ */
+final class TaskETags {
+
+    // Added by ResponseCompressionFilter to the tag of a gzipped response.
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private static final String LIST_PREFIX = "L.";
+
+    // JSON, the default representation, has no suffix.
+    private static final Map<MediaType, String> FORMAT_SUFFIXES = Map.of(
+            MediaType.APPLICATION_CBOR, "-cbor",
+            new MediaType("application", "x-jackson-smile"), "-smile",
+            TaskProtobufHttpMessageConverter.PROTOBUF, "-protobuf");
+
+    // Versions start at 0, so a conditional write expecting this one never matches a row.
+    private static final long NEVER_MATCHES = -1L;
+
+    private TaskETags() {
+    }
+
+    static String ofTask(long id, long version, String tableTag) {
+        return ofTask(id, version, tableTag, MediaType.APPLICATION_JSON);
+    }
+
+    static String ofTask(long id, long version, String tableTag, MediaType format) {
+        return "\"" + id + "." + version + "." + tableTag + suffixOf(format) + "\"";
+    }
+
+    /**
+     * Tag for a single task when no table tag is available, as in the reactive variant. It is
+     * still understood by {@link #expectedVersion(String, long)} and
+     * {@link #anyForVersion(String, long, long)}.
+     */
+    static String ofVersion(long id, long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    static String ofList(String tableTag, MediaType format) {
+        return "\"" + LIST_PREFIX + tableTag + suffixOf(format) + "\"";
+    }
+
+    static String ofStats(String tableTag, LocalDate asOf) {
+        return "\"" + tableTag + "@" + asOf + "\"";
+    }
+
+    /**
+     * The version a conditional write to task {@code id} expects from its {@code If-Match} header:
+     * null when the header is absent or {@code *}. The header may list several tags; any of them
+     * may match. Weak tags, tags of other tasks and anything not issued by
+     * {@link #ofTask(long, long, String)} can never pass the strong comparison If-Match requires,
+     * so a header with no other tag maps to a version no row has. A write checks a single version,
+     * so a list naming different versions is rejected with 400.
+     */
+    static Long expectedVersion(String ifMatch, long id) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Long expected = null;
+        for (String candidate : ifMatch.split(",")) {
+            TaskTag tag = taskTag(opaqueTag(candidate.trim()));
+            if (tag == null || tag.id() != id) {
+                continue;
+            }
+            long version = tag.version();
+            if (expected != null && expected != version) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match names more than one version");
+            }
+            expected = version;
+        }
+        return expected == null ? NEVER_MATCHES : expected;
+    }
+
+    /**
+     * True if an {@code If-None-Match} header holds the list tag for {@code tableTag} in
+     * {@code format}, meaning no task changed since that list was issued.
+     */
+    static boolean listIssuedAt(String ifNoneMatch, String tableTag, MediaType format) {
+        return anyMatches(ifNoneMatch, ofList(tableTag, format));
+    }
+
+    /**
+     * The version in a tag of task {@code id} in {@code format} in an {@code If-None-Match} header
+     * that carries {@code tableTag}, or null if there is none. No task changed since such a tag
+     * was issued, so {@code ofTask(id, version, tableTag, format)} is still the task's current tag.
+     */
+    static Long versionIssuedAt(String ifNoneMatch, long id, String tableTag, MediaType format) {
+        String suffix = suffixOf(format);
+        for (String candidate : ifNoneMatch.split(",")) {
+            TaskTag tag = taskTag(opaqueTag(stripWeak(candidate.trim())));
+            if (tag != null && tag.id() == id && tableTag.equals(tag.tableTag()) && suffix.equals(tag.suffix())) {
+                return tag.version();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * True if any entity tag in an {@code If-None-Match} header was issued for task {@code id} at
+     * {@code version}.
+     */
+    static boolean anyForVersion(String ifNoneMatch, long id, long version) {
+        return anyForVersion(ifNoneMatch, id, version, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * True if any entity tag in an {@code If-None-Match} header was issued for task {@code id} at
+     * {@code version} in {@code format}.
+     */
+    static boolean anyForVersion(String ifNoneMatch, long id, long version, MediaType format) {
+        String suffix = suffixOf(format);
+        for (String candidate : ifNoneMatch.split(",")) {
+            TaskTag tag = taskTag(opaqueTag(stripWeak(candidate.trim())));
+            if (tag != null && tag.id() == id && tag.version() == version && suffix.equals(tag.suffix())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if any entity tag in an {@code If-None-Match} header equals {@code etag}, compared
+     * weakly as If-None-Match requires.
+     */
+    static boolean anyMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String opaque = opaqueTag(stripWeak(candidate.trim()));
+            if (opaque != null && opaque.equals(opaqueTag(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String opaqueTag(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        return opaque.endsWith(GZIP_SUFFIX) ? opaque.substring(0, opaque.length() - GZIP_SUFFIX.length()) : opaque;
+    }
+
+    private static String suffixOf(MediaType format) {
+        return FORMAT_SUFFIXES.getOrDefault(format, "");
+    }
+
+    // Parses a task tag, with or without its table tag; null for any other tag.
+    private static TaskTag taskTag(String opaque) {
+        if (opaque == null) {
+            return null;
+        }
+        String suffix = FORMAT_SUFFIXES.values().stream().filter(opaque::endsWith).findFirst().orElse("");
+        String[] parts = opaque.substring(0, opaque.length() - suffix.length()).split("\\.", 3);
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            return new TaskTag(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    parts.length == 3 ? parts[2] : null, suffix);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record TaskTag(long id, long version, String tableTag, String suffix) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskmanager.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.taskmanager.service.TaskEventBroadcaster;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:5173")
+public class TaskEventController {
+
+    private final TaskEventBroadcaster broadcaster;
+
+    public TaskEventController(TaskEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Server-Sent Events stream of committed task changes. Each event is named {@code created},
+     * {@code updated} or {@code deleted} and carries {@code {"type", "id", "task"}} as JSON; the
+     * task is omitted for deletions. Subscribers that fall too far behind are disconnected and
+     * should reload the list, or catch up through {@code /api/tasks/changes}, when they reconnect.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return broadcaster.subscribe();
+    }
+}
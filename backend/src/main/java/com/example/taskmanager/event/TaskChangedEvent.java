@@ -0,0 +1,61 @@
+package com.example.taskmanager.event;
+
+import com.example.taskmanager.model.Task;
+
+/**
+ * Published by the write paths whenever a task is created, updated or deleted. Listeners that
+ * must only observe committed changes use {@code @TransactionalEventListener}.
+ *
+ * <p>Listeners run in {@code @Order}: caches holding a task's old state are invalidated
+ * ({@link #INVALIDATE_ORDER}) before the table change tag advances ({@link #ADVANCE_TAG_ORDER}),
+ * so no read can pair the new tag with a stale cached body. Listeners without an order, such as
+ * the event stream, run last and never announce a change the tag doesn't reflect yet.
+ */
+public class TaskChangedEvent {
+
+    public static final int INVALIDATE_ORDER = 100;
+    public static final int ADVANCE_TAG_ORDER = 200;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final Task task;
+
+    public TaskChangedEvent(Type type, Long taskId, Task task) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task);
+    }
+
+    public static TaskChangedEvent updated(Task task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * The task's new state; null for deletions.
+     */
+    public Task getTask() {
+        return task;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskmanager.jfr;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so flight recorder events can
+ * report how many statements ran while they were open. Counting only starts on a thread once an
+ * enabled event asked for a {@link #mark()}, so with no recording running inspecting a statement
+ * is a single thread-local read.
+ */
+public final class SqlStatementCounter implements StatementInspector {
+
+    public static final SqlStatementCounter INSTANCE = new SqlStatementCounter();
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on this thread if needed and returns the current count.
+     */
+    static long mark() {
+        long[] count = COUNT.get();
+        if (count == null) {
+            count = new long[1];
+            COUNT.set(count);
+        }
+        return count[0];
+    }
+
+    /**
+     * Statements prepared on this thread since {@code mark}.
+     */
+    static int since(long mark) {
+        long[] count = COUNT.get();
+        return count == null ? 0 : (int) (count[0] - mark);
+    }
+}
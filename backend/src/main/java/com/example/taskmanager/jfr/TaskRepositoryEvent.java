@@ -0,0 +1,39 @@
+package com.example.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to a Spring Data repository, including the transaction it opened, if any. Task id is
+ * 0 when the call doesn't take a task or task id.
+ */
+@Name("com.example.taskmanager.TaskRepositoryCall")
+@Label("Task Repository Call")
+@Category({"Task Manager", "Persistence"})
+@Description("Invocation of a task repository method")
+@StackTrace(false)
+public class TaskRepositoryEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Task Id")
+    long taskId;
+
+    @Label("Rows")
+    @Description("Rows changed by a modifying query, or entities returned by a finder")
+    long rows;
+
+    @Label("SQL Statements")
+    @Description("Statements Hibernate prepared during the call")
+    int sqlStatements;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanager.jfr;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskTombstone;
+
+/**
+ * Emits a {@link TaskRepositoryEvent} per repository call. Added as the outermost advice of the
+ * repository proxy, so the duration and statement count include the transaction the call opens
+ * and the flush at its commit. While no recording has the event enabled this costs one flag check.
+ */
+public class TaskRepositoryRecorder implements MethodInterceptor {
+
+    private final String repository;
+
+    public TaskRepositoryRecorder(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        TaskRepositoryEvent event = new TaskRepositoryEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        long sqlMark = SqlStatementCounter.mark();
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.taskId = taskId(invocation.getArguments());
+                event.rows = rows(result);
+                event.sqlStatements = SqlStatementCounter.since(sqlMark);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static long taskId(Object[] arguments) {
+        if (arguments.length == 0) {
+            return 0;
+        }
+        Object first = arguments[0];
+        if (first instanceof Long id) {
+            return id;
+        }
+        if (first instanceof Task task && task.getId() != null) {
+            return task.getId();
+        }
+        if (first instanceof TaskTombstone tombstone && tombstone.getTaskId() != null) {
+            return tombstone.getTaskId();
+        }
+        return 0;
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result instanceof Task ? 1 : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code /api/tasks} request, from handler selection to completion. Task id is 0 for
+ * endpoints that don't address a single task.
+ */
+@Name("com.example.taskmanager.TaskRequest")
+@Label("Task Request")
+@Category({"Task Manager", "HTTP"})
+@Description("Handling of a request by TaskController")
+@StackTrace(false)
+public class TaskRequestEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    @Description("HTTP method and URI template, e.g. GET /api/tasks/{id}")
+    String endpoint;
+
+    @Label("Task Id")
+    long taskId;
+
+    @Label("Status")
+    int status;
+
+    @Label("SQL Statements")
+    @Description("Statements Hibernate prepared on this thread while the request ran")
+    int sqlStatements;
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanager.jfr;
+
+import java.util.Map;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Emits a {@link TaskRequestEvent} per handled request. While no recording has the event enabled
+ * this costs one flag check; the event is only kept as a request attribute when it will be
+ * recorded. Requests that go async, such as the event stream, are not recorded.
+ */
+public class TaskRequestRecorder implements AsyncHandlerInterceptor {
+
+    private static final String EVENT = TaskRequestRecorder.class.getName() + ".event";
+    private static final String SQL_MARK = TaskRequestRecorder.class.getName() + ".sqlMark";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TaskRequestEvent event = new TaskRequestEvent();
+        if (event.isEnabled()) {
+            request.setAttribute(SQL_MARK, SqlStatementCounter.mark());
+            request.setAttribute(EVENT, event);
+            event.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.removeAttribute(EVENT);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT) instanceof TaskRequestEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT);
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.taskId = taskId(request);
+            event.status = response.getStatus();
+            event.sqlStatements = SqlStatementCounter.since((Long) request.getAttribute(SQL_MARK));
+            event.commit();
+        }
+    }
+
+    private static long taskId(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get("id") instanceof String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.model;
+
+/**
+ * One entry of a {@code POST /api/tasks/batch} request. {@code id} is required for
+ * {@code UPDATE} and {@code DELETE}; {@code task} is required for {@code CREATE} and
+ * {@code UPDATE} and is validated with the usual {@link Task} constraints. An optional
+ * {@code version} makes an update or delete conditional, like {@code If-Match} on the REST calls.
+ */
+public class TaskBatchOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    private Type op;
+
+    private Long id;
+
+    private Long version;
+
+    private Task task;
+
+    public TaskBatchOperation() {}
+
+    public Type getOp() {
+        return op;
+    }
+
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
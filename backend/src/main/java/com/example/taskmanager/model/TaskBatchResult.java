@@ -0,0 +1,82 @@
+package com.example.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link TaskBatchOperation}, reported at the operation's position in the
+ * request. {@code status} uses the HTTP status the equivalent single-task call would return.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+
+    private int index;
+
+    private TaskBatchOperation.Type op;
+
+    private Long id;
+
+    private int status;
+
+    private Task task;
+
+    private List<String> errors;
+
+    public TaskBatchResult() {}
+
+    public TaskBatchResult(int index, TaskBatchOperation.Type op, Long id, int status) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public TaskBatchOperation.Type getOp() {
+        return op;
+    }
+
+    public void setOp(TaskBatchOperation.Type op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public void setTask(Task task) {
+        this.task = task;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
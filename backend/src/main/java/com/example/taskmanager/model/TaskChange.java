@@ -0,0 +1,71 @@
+package com.example.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of the change feed: the current state of a created or updated task, or the id of a
+ * deleted one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChange {
+
+    public enum Type {
+        UPSERT, DELETE
+    }
+
+    private long seq;
+    private Type type;
+    private Long id;
+    private Task task;
+
+    public TaskChange() {}
+
+    public static TaskChange upsert(Task task) {
+        TaskChange change = new TaskChange();
+        change.seq = task.getChangeSeq();
+        change.type = Type.UPSERT;
+        change.id = task.getId();
+        change.task = task;
+        return change;
+    }
+
+    public static TaskChange delete(TaskTombstone tombstone) {
+        TaskChange change = new TaskChange();
+        change.seq = tombstone.getChangeSeq();
+        change.type = Type.DELETE;
+        change.id = tombstone.getTaskId();
+        return change;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
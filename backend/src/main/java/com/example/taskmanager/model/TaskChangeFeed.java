@@ -0,0 +1,46 @@
+package com.example.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. {@code next} is the cursor to pass as {@code since} on the following
+ * poll; {@code hasMore} tells whether that poll can be made right away.
+ */
+public class TaskChangeFeed {
+
+    private List<TaskChange> changes;
+    private long next;
+    private boolean hasMore;
+
+    public TaskChangeFeed() {}
+
+    public TaskChangeFeed(List<TaskChange> changes, long next, boolean hasMore) {
+        this.changes = changes;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<TaskChange> changes) {
+        this.changes = changes;
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public void setNext(long next) {
+        this.next = next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanager.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Task counts for dashboards. Every status appears in {@code byStatus}, with 0 if no task has it;
+ * {@code total} also counts tasks without a status.
+ * A task is overdue when its due date is before {@code asOf} and it is not DONE;
+ * {@code overdueByStatus} breaks that number down by the statuses that can be overdue.
+ */
+public class TaskStats {
+
+    private LocalDate asOf;
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private long overdue;
+    private Map<TaskStatus, Long> overdueByStatus;
+
+    public TaskStats() {}
+
+    public TaskStats(LocalDate asOf, long total, Map<TaskStatus, Long> byStatus,
+                     long overdue, Map<TaskStatus, Long> overdueByStatus) {
+        this.asOf = asOf;
+        this.total = total;
+        this.byStatus = byStatus;
+        this.overdue = overdue;
+        this.overdueByStatus = overdueByStatus;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<TaskStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public Map<TaskStatus, Long> getOverdueByStatus() {
+        return overdueByStatus;
+    }
+
+    public void setOverdueByStatus(Map<TaskStatus, Long> overdueByStatus) {
+        this.overdueByStatus = overdueByStatus;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.Instant;
+
+/**
+ * Marker left behind by a deleted task so the change feed can report the deletion. Tombstones are
+ * insert-only and keyed by the change sequence value of the delete.
+ */
+@Entity
+@Table(name = "task_tombstones")
+public class TaskTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    protected TaskTombstone() {}
+
+    public TaskTombstone(Long changeSeq, Long taskId) {
+        this.changeSeq = changeSeq;
+        this.taskId = taskId;
+        this.deletedAt = Instant.now();
+    }
+
+    @Override
+    public Long getId() {
+        return changeSeq;
+    }
+
+    // The key is assigned up front, so tell Spring Data to persist rather than merge (which would SELECT first).
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking access to the tasks table for the {@code reactive} profile, written against
+ * {@link DatabaseClient} so rows are emitted as the driver reads them and demand from the
+ * subscriber (ultimately the HTTP connection) throttles the query. Writes keep the change_seq
+ * column and tombstones up to date like the JPA write paths do.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, status, due_date, version, change_seq";
+
+    private final DatabaseClient client;
+
+    public ReactiveTaskRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Tasks matching the given filters in id order, starting after {@code afterId}. Any filter may
+     * be null; {@code limit} null means no limit.
+     */
+    public Flux<Task> findAll(TaskStatus status, LocalDate dueBefore, LocalDate dueAfter,
+                              Long afterId, boolean descending, Integer limit) {
+        StringBuilder sql = new StringBuilder("select " + COLUMNS + " from tasks where 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (status != null) {
+            sql.append(" and status = :status");
+            params.put("status", status.name());
+        }
+        if (dueBefore != null) {
+            sql.append(" and due_date < :dueBefore");
+            params.put("dueBefore", dueBefore);
+        }
+        if (dueAfter != null) {
+            sql.append(" and due_date > :dueAfter");
+            params.put("dueAfter", dueAfter);
+        }
+        if (afterId != null) {
+            sql.append(descending ? " and id < :afterId" : " and id > :afterId");
+            params.put("afterId", afterId);
+        }
+        sql.append(descending ? " order by id desc" : " order by id");
+        if (limit != null) {
+            sql.append(" limit :limit");
+            params.put("limit", limit);
+        }
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql.toString());
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(ReactiveTaskRepository::toTask).all();
+    }
+
+    public Mono<Task> findById(Long id) {
+        return client.sql("select " + COLUMNS + " from tasks where id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return client.sql("select 1 from tasks where id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Inserts a new task and returns it with its id, version and change sequence.
+     */
+    @Transactional
+    public Mono<Task> insert(Task task) {
+        return client.sql("select next value for tasks_seq, next value for task_change_seq")
+                .map(row -> new long[] {row.get(0, Long.class), row.get(1, Long.class)})
+                .one()
+                .flatMap(keys -> bindFields(client.sql("insert into tasks (" + COLUMNS + ") "
+                                + "values (:id, :title, :description, :status, :dueDate, 0, :changeSeq)"), task)
+                        .bind("id", keys[0])
+                        .bind("changeSeq", keys[1])
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(keys))
+                .map(keys -> {
+                    Task saved = copy(task);
+                    saved.setId(keys[0]);
+                    saved.setVersion(0L);
+                    saved.setChangeSeq(keys[1]);
+                    return saved;
+                });
+    }
+
+    /**
+     * Replaces a task's fields in one UPDATE and bumps its version; with {@code version} given
+     * only if the row still has it.
+     *
+     * @return the number of rows updated
+     */
+    public Mono<Long> update(Long id, Long version, Task task) {
+        String sql = "update tasks set title = :title, description = :description, status = :status, "
+                + "due_date = :dueDate, version = version + 1, change_seq = next value for task_change_seq "
+                + "where id = :id" + (version == null ? "" : " and version = :version");
+        DatabaseClient.GenericExecuteSpec spec = bindFields(client.sql(sql), task).bind("id", id);
+        if (version != null) {
+            spec = spec.bind("version", version);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * Deletes a task, with {@code version} given only if the row still has it, and records a
+     * tombstone for the change feed.
+     *
+     * @return the number of rows deleted
+     */
+    @Transactional
+    public Mono<Long> delete(Long id, Long version) {
+        DatabaseClient.GenericExecuteSpec spec = client
+                .sql("delete from tasks where id = :id" + (version == null ? "" : " and version = :version"))
+                .bind("id", id);
+        if (version != null) {
+            spec = spec.bind("version", version);
+        }
+        return spec.fetch().rowsUpdated()
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.just(deleted)
+                        : client.sql("insert into task_tombstones (change_seq, task_id, deleted_at) "
+                                        + "values (next value for task_change_seq, :id, current_timestamp)")
+                                .bind("id", id)
+                                .fetch()
+                                .rowsUpdated()
+                                .thenReturn(deleted));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec, Task task) {
+        spec = spec.bind("title", task.getTitle());
+        spec = task.getDescription() == null
+                ? spec.bindNull("description", String.class)
+                : spec.bind("description", task.getDescription());
+        spec = task.getStatus() == null
+                ? spec.bindNull("status", String.class)
+                : spec.bind("status", task.getStatus().name());
+        return task.getDueDate() == null
+                ? spec.bindNull("dueDate", LocalDate.class)
+                : spec.bind("dueDate", task.getDueDate());
+    }
+
+    private static Task copy(Task source) {
+        Task target = new Task();
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setStatus(source.getStatus());
+        target.setDueDate(source.getDueDate());
+        return target;
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        String status = row.get("status", String.class);
+        task.setStatus(status == null ? null : TaskStatus.valueOf(status));
+        task.setDueDate(row.get("due_date", LocalDate.class));
+        task.setVersion(row.get("version", Long.class));
+        task.setChangeSeq(row.get("change_seq", Long.class));
+        return task;
+    }
+}
@@ -1,9 +1,74 @@
 package com.example.taskmanager.repository;
 
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
+
+    /**
+     * Keyset page: the next {@code limit} tasks after {@code id} in primary key order.
+     * Seeks on the primary key index instead of skipping rows with OFFSET.
+     */
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Forward-only cursor over every task in id order, fetched from the driver in fixed-size
+     * chunks. Must be consumed inside a transaction and closed by the caller.
+     */
+    @Query("select t from Task t order by t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllOrderById();
+
+    /**
+     * Tasks whose last write has a change sequence in {@code (since, upTo]}, oldest first.
+     * Seeks on the change_seq index, so the cost follows the number of changes, not the table.
+     */
+    List<Task> findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+            Long since, Long upTo, Limit limit);
+
+    /**
+     * Task count per status, and how many of each are due before {@code today}, in a single
+     * GROUP BY pass. Statuses without tasks are absent; tasks without a status form a group
+     * with a null status.
+     */
+    @Query("select t.status as status, count(t) as total, "
+            + "sum(case when t.dueDate < :today then 1 else 0 end) as dueBefore "
+            + "from Task t group by t.status")
+    List<StatusCount> countByStatus(@Param("today") LocalDate today);
+
+    interface StatusCount {
+        TaskStatus getStatus();
+
+        Long getTotal();
+
+        Long getDueBefore();
+    }
+
+    /**
+     * Loads one task and locks its row until the transaction ends, so a write based on it can't
+     * race another one. Always reads the database rather than the second-level cache.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Task> findForUpdateById(Long id);
 }
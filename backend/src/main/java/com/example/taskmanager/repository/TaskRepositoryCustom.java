@@ -0,0 +1,36 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * The first {@code maxResults} tasks matching {@code spec} in {@code sort} order, without the
+     * COUNT query a {@code Page} would issue. Combined with a keyset predicate this is one index
+     * range scan per page.
+     */
+    List<Task> findWindow(Specification<Task> spec, Sort sort, int maxResults);
+
+    /**
+     * Replaces every client-settable column of one task in a single UPDATE, without loading it,
+     * bumps its version and sets its {@code changeSeq}; the row is only updated if it still has
+     * {@code version}. Only this task's second-level cache entry is invalidated, where a bulk
+     * JPQL statement would evict the whole region.
+     *
+     * @return the number of rows updated: 1, or 0 if no task has this id and version
+     */
+    int updateTaskById(Long id, long version, Task values, long changeSeq);
+
+    /**
+     * Deletes one task in a single DELETE, without loading it. When {@code version} is given the
+     * row is only deleted if it still has that version. Invalidates only this task's
+     * second-level cache entry.
+     *
+     * @return the number of rows deleted: 1, or 0 if no task has this id (and version)
+     */
+    int deleteTaskById(Long id, Long version);
+}
@@ -0,0 +1,95 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    // A query space no entity is mapped to.
+    private static final String NO_ENTITY_SPACE = "task_by_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> findWindow(Specification<Task> spec, Sort sort, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(maxResults).getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int updateTaskById(Long id, long version, Task values, long changeSeq) {
+        NativeQuery<?> update = entityManager.createNativeQuery("update tasks set title = :title, "
+                        + "description = :description, status = :status, due_date = :dueDate, "
+                        + "version = version + 1, change_seq = :changeSeq where id = :id and version = :version")
+                .unwrap(NativeQuery.class)
+                .setParameter("title", values.getTitle(), StandardBasicTypes.STRING)
+                .setParameter("description", values.getDescription(), StandardBasicTypes.STRING)
+                .setParameter("status", values.getStatus() == null ? null : values.getStatus().name(),
+                        StandardBasicTypes.STRING)
+                .setParameter("dueDate", values.getDueDate(), StandardBasicTypes.LOCAL_DATE)
+                .setParameter("changeSeq", changeSeq)
+                .setParameter("id", id)
+                .setParameter("version", version);
+        return executeForTask(id, update);
+    }
+
+    @Override
+    @Transactional
+    public int deleteTaskById(Long id, Long version) {
+        NativeQuery<?> delete = entityManager.createNativeQuery(
+                        "delete from tasks where id = :id and (:version is null or version = :version)")
+                .unwrap(NativeQuery.class)
+                .setParameter("id", id)
+                .setParameter("version", version, StandardBasicTypes.LONG);
+        return executeForTask(id, delete);
+    }
+
+    /**
+     * Runs a statement that writes only task {@code id}. Hibernate would evict every cached task
+     * after a statement it can't see into, so it is told the statement touches none, and this
+     * task's entry is soft-locked instead, as for an update through the entity: until the
+     * transaction ends, no read can put the old row back.
+     */
+    private int executeForTask(Long id, NativeQuery<?> statement) {
+        entityManager.flush();
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class);
+        Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            entityManager.detach(managed);
+        }
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache != null) {
+            Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+            SoftLock lock = cache.lockItem(session, key, null);
+            session.getActionQueue().registerProcess((success, completed) -> cache.unlockItem(completed, key, lock));
+        }
+        return statement.addSynchronizedQuerySpace(NO_ENTITY_SPACE).executeUpdate();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Filter and keyset predicates for task queries. The status and due date predicates line up
+ * with the {@code (status, due_date)} and {@code (due_date)} indexes declared on {@link Task}.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasNoStatus() {
+        return (root, query, cb) -> cb.isNull(root.get("status"));
+    }
+
+    public static Specification<Task> dueBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThan(root.<LocalDate>get("dueDate"), date);
+    }
+
+    public static Specification<Task> dueAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThan(root.<LocalDate>get("dueDate"), date);
+    }
+
+    public static Specification<Task> hasDueDate() {
+        return (root, query, cb) -> cb.isNotNull(root.get("dueDate"));
+    }
+
+    public static Specification<Task> hasNoDueDate() {
+        return (root, query, cb) -> cb.isNull(root.get("dueDate"));
+    }
+
+    public static Specification<Task> idAfter(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), id);
+    }
+
+    public static Specification<Task> idBefore(long id) {
+        return (root, query, cb) -> cb.lessThan(root.<Long>get("id"), id);
+    }
+
+    /**
+     * Rows after {@code (dueDate, id)} in ascending {@code dueDate, id} order.
+     */
+    public static Specification<Task> dueDateKeyAfter(LocalDate dueDate, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<LocalDate>get("dueDate"), dueDate),
+                cb.and(cb.equal(root.get("dueDate"), dueDate), cb.greaterThan(root.<Long>get("id"), id)));
+    }
+
+    /**
+     * Rows after {@code (dueDate, id)} in descending {@code dueDate, id} order.
+     */
+    public static Specification<Task> dueDateKeyBefore(LocalDate dueDate, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDate>get("dueDate"), dueDate),
+                cb.and(cb.equal(root.get("dueDate"), dueDate), cb.lessThan(root.<Long>get("id"), id)));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    /**
+     * Deletions with a change sequence in {@code (since, upTo]}, oldest first. Seeks on the
+     * primary key.
+     */
+    List<TaskTombstone> findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+            Long since, Long upTo, Limit limit);
+}
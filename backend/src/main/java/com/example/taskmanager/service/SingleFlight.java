@@ -0,0 +1,71 @@
+package com.example.taskmanager.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader, and
+ * callers that arrive while it runs wait for and share its result (or exception) instead of
+ * loading again. Nothing is kept once the load finishes, so this is not a cache; keys should
+ * include whatever makes an older load unacceptable, such as a change counter.
+ *
+ * <p>Counts loads and collapsed calls as {@code taskmanager.singleflight.loads} and
+ * {@code taskmanager.singleflight.collapsed}, tagged with the flight's name.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.loads = Counter.builder("taskmanager.singleflight.loads")
+                .description("Loads run on behalf of one or more callers")
+                .tag("name", name)
+                .register(registry);
+        this.collapsed = Counter.builder("taskmanager.singleflight.collapsed")
+                .description("Calls answered by another caller's load")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            return await(running);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out the change sequence values that order the change feed. Every task write and every
+ * tombstone takes the next value, so a task's {@code changeSeq} always points at its latest write.
+ *
+ * <p>Values come from the {@code task_change_seq} database sequence in blocks, so most writes
+ * need no extra round trip. Because values are taken before commit, a smaller value can become
+ * visible after a larger one; {@link #visibleUpTo()} bounds the feed below every value whose
+ * transaction is still open so a client's cursor never skips past a late commit. This only sees
+ * writes made by this application instance.
+ */
+@Component
+@Profile("!reactive")
+public class TaskChangeSequence {
+
+    static final int BLOCK_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    // Not synchronized: a virtual thread blocking on JDBC inside a monitor would pin its carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextValue;
+    private long blockEnd;
+    // Highest value handed out so far; written after the value is registered as in flight.
+    private volatile long lastAllocated;
+
+    public TaskChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        jdbcTemplate.execute("create sequence if not exists task_change_seq start with 1 increment by " + BLOCK_SIZE);
+        // Values handed out before this instance started, by earlier runs, all lie below its first block.
+        takeBlock();
+        lastAllocated = nextValue - 1;
+    }
+
+    /**
+     * The next change sequence value, held back from {@link #visibleUpTo()} until the current
+     * transaction completes.
+     */
+    public long next() {
+        long value;
+        lock.lock();
+        try {
+            if (nextValue == blockEnd) {
+                takeBlock();
+            }
+            value = nextValue++;
+            inFlight.add(value);
+            lastAllocated = value;
+        } finally {
+            lock.unlock();
+        }
+        releaseAfterCompletion(value);
+        return value;
+    }
+
+    /**
+     * Highest change sequence value up to which every write has completed. Never above the
+     * highest value allocated so far: a value handed out after this call may still commit
+     * before the caller's query runs, and must not let the feed skip an earlier one.
+     */
+    public long visibleUpTo() {
+        // Read first: any value allocated after this one may be ignored, any before it is either
+        // still in flight below or has completed.
+        long allocated = lastAllocated;
+        Long oldestOpen = inFlight.ceiling(Long.MIN_VALUE);
+        return oldestOpen == null ? allocated : Math.min(allocated, oldestOpen - 1);
+    }
+
+    private void takeBlock() {
+        nextValue = jdbcTemplate.queryForObject("select next value for task_change_seq", Long.class);
+        blockEnd = nextValue + BLOCK_SIZE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void releaseAfterCompletion(long value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.remove(value);
+            return;
+        }
+        // One synchronization per transaction releases every value it took, so batches stay cheap.
+        List<Long> taken = (List<Long>) TransactionSynchronizationManager.getResource(this);
+        if (taken == null) {
+            List<Long> values = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, values);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeSequence.this);
+                    inFlight.removeAll(values);
+                }
+            });
+            taken = values;
+        }
+        taken.add(value);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+
+/**
+ * Table-level change counter for the tasks table, used to build ETags that can be checked
+ * without querying the database. It advances after every committed write made through
+ * {@link TaskService}; writes that bypass the service are not seen.
+ */
+@Component
+@Profile("!reactive")
+public class TaskChangeTracker {
+
+    // Distinguishes counters of different application runs, as the counter restarts at zero.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Opaque token that changes whenever any task changes.
+     */
+    public String currentTag() {
+        return epoch + "-" + counter.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(TaskChangedEvent.ADVANCE_TAG_ORDER)
+    public void onTaskChanged(TaskChangedEvent event) {
+        counter.incrementAndGet();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.taskmanager.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed task changes to Server-Sent Events subscribers.
+ *
+ * <p>Connections are held by the servlet container's async support, so an idle subscriber costs
+ * a socket and a small queue but no thread. Each subscriber has a bounded queue of pending
+ * events, drained by a virtual thread of its own ({@code task-events-<n>}) that only lives while
+ * there is something to send. A client whose socket stalls parks just its own drain, so it never
+ * blocks the writer or other clients. When a queue is full the subscriber is either disconnected
+ * (the default; browsers reconnect and reload) or loses its oldest pending event.
+ */
+@Component
+@Profile("!reactive")
+public class TaskEventBroadcaster {
+
+    public enum OverflowPolicy {
+        DISCONNECT,
+        DROP_OLDEST
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService heartbeats;
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long timeoutMillis;
+
+    public TaskEventBroadcaster(ObjectMapper objectMapper,
+                                @Value("${taskmanager.events.buffer-size:256}") int bufferSize,
+                                @Value("${taskmanager.events.overflow:DISCONNECT}") OverflowPolicy overflowPolicy,
+                                @Value("${taskmanager.events.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${taskmanager.events.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Comments keep proxies from closing idle streams and reveal clients that went away.
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter,
+                new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Runs after the write commits and only enqueues, so the request that made the change never
+     * waits on a subscriber's socket. The payload is serialized once for every subscriber.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", event.getType());
+        payload.put("id", event.getTaskId());
+        if (event.getTask() != null) {
+            payload.put("task", event.getTask());
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change of task {}", event.getTaskId(), e);
+            return;
+        }
+        PendingEvent pending = new PendingEvent(event.getType().name().toLowerCase(), json);
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, pending);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, PendingEvent.HEARTBEAT);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, PendingEvent pending) {
+        if (!subscriber.queue.offer(pending)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                disconnect(subscriber);
+                return;
+            }
+            subscriber.queue.poll();
+            subscriber.queue.offer(pending);
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            startDrain(subscriber);
+        }
+    }
+
+    private void startDrain(Subscriber subscriber) {
+        Thread.ofVirtual().name("task-events-" + subscriber.id).start(() -> drain(subscriber));
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            PendingEvent pending;
+            while ((pending = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(pending.toSse());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            startDrain(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final BlockingQueue<PendingEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(long id, SseEmitter emitter, BlockingQueue<PendingEvent> queue) {
+            this.id = id;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    private record PendingEvent(String name, String json) {
+
+        static final PendingEvent HEARTBEAT = new PendingEvent(null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+}
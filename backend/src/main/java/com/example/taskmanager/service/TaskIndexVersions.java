@@ -0,0 +1,108 @@
+package com.example.taskmanager.service;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The version, and optionally some state, an in-memory index holds for each task. Such an index
+ * is rebuilt from the database in the background and kept current from after-commit events; the
+ * events can arrive out of order, and the rebuild can read a row before a newer write to it is
+ * applied, so a change is only applied if it is not older than what the index already holds.
+ *
+ * <p>A deleted task is held as a marker so that neither can put it back. Only a rebuild in
+ * progress or a late event can still carry the task, so the marker is dropped once no rebuild is
+ * running and it is older than {@link #LATE_EVENT_WINDOW}; the map then holds one entry per live
+ * task plus the recent deletions.
+ */
+final class TaskIndexVersions<S> {
+
+    // Events are published right after their commit; one later than this is not expected.
+    static final Duration LATE_EVENT_WINDOW = Duration.ofMinutes(1);
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final ConcurrentHashMap<Long, Held<S>> held = new ConcurrentHashMap<>();
+    // Deletion markers, oldest first.
+    private final Queue<Marker> markers = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock pruning = new ReentrantLock();
+    private final AtomicInteger rebuilds = new AtomicInteger();
+    private final LongSupplier nanoTime;
+    private final long windowNanos;
+
+    TaskIndexVersions() {
+        this(System::nanoTime, LATE_EVENT_WINDOW);
+    }
+
+    TaskIndexVersions(LongSupplier nanoTime, Duration lateEventWindow) {
+        this.nanoTime = nanoTime;
+        this.windowNanos = lateEventWindow.toNanos();
+    }
+
+    /**
+     * Holds {@code state} at {@code version} for the task unless a newer version is held.
+     * {@code change} receives the state held so far, null if none, and the new one; it runs while
+     * the task's entry is locked, so the changes to one task are applied one at a time.
+     */
+    void apply(Long id, long version, S state, BiConsumer<S, S> change) {
+        pruneMarkers();
+        held.compute(id, (key, previous) -> {
+            if (previous != null && previous.version() > version) {
+                return previous;
+            }
+            change.accept(previous == null ? null : previous.state(), state);
+            return new Held<>(version, state);
+        });
+    }
+
+    /**
+     * Replaces whatever is held for the task with a deletion marker. {@code removal} receives the
+     * state held so far, null if none, unless the task was already deleted.
+     */
+    void delete(Long id, Consumer<S> removal) {
+        apply(id, DELETED, null, (previous, none) -> removal.accept(previous));
+        markers.add(new Marker(id, nanoTime.getAsLong()));
+    }
+
+    // Deletion markers are kept for as long as a rebuild started before them may still run.
+    void rebuildStarted() {
+        rebuilds.incrementAndGet();
+    }
+
+    void rebuildFinished() {
+        rebuilds.decrementAndGet();
+    }
+
+    // Tasks with a state or a deletion marker held.
+    int size() {
+        return held.size();
+    }
+
+    // Drops the markers past the window, unless a rebuild is running or another writer is at it.
+    private void pruneMarkers() {
+        if (rebuilds.get() > 0 || markers.isEmpty() || !pruning.tryLock()) {
+            return;
+        }
+        try {
+            long now = nanoTime.getAsLong();
+            Marker oldest;
+            while ((oldest = markers.peek()) != null && now - oldest.deletedAt() > windowNanos) {
+                markers.poll();
+                held.computeIfPresent(oldest.id(), (key, entry) -> entry.version() == DELETED ? null : entry);
+            }
+        } finally {
+            pruning.unlock();
+        }
+    }
+
+    private record Held<S>(long version, S state) {
+    }
+
+    private record Marker(Long id, long deletedAt) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskmanager.service;
+
+import java.io.UncheckedIOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Serialized JSON of recently read tasks, so a repeated {@code GET /api/tasks/{id}} neither loads
+ * the entity nor runs Jackson. Entries are bounded by their total size in bytes
+ * ({@code taskmanager.cache.json.max-bytes}) rather than by count.
+ *
+ * <p>Each entry carries the version it was serialized at. A committed write replaces the entry
+ * with a marker holding the task's new version (for a delete, a version no task reaches), and
+ * an entry is only ever replaced by one at least as new. A read that loaded the task before a
+ * write committed therefore can't put its stale copy back afterwards. Like
+ * {@link TaskChangeTracker}, only writes made through {@link TaskService} are seen.
+ */
+@Component
+@Profile("!reactive")
+public class TaskJsonCache implements MeterBinder {
+
+    // Rough per-entry cost of the key, entry and array headers and the cache's own node.
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Cache<Long, Entry> cache;
+    private final ObjectMapper objectMapper;
+
+    public TaskJsonCache(ObjectMapper objectMapper,
+                         @Value("${taskmanager.cache.json.max-bytes:16777216}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry entry) -> ENTRY_OVERHEAD_BYTES + (entry.json == null ? 0 : entry.json.length))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The cached JSON of a task, or null if the cache can't answer for it.
+     */
+    public Entry get(Long id) {
+        Entry entry = cache.getIfPresent(id);
+        return entry == null || entry.json == null ? null : entry;
+    }
+
+    /**
+     * Serializes a task just read from the database and caches it unless a newer write has been
+     * seen in the meantime.
+     *
+     * @return the serialized task, cached or not
+     */
+    public Entry put(Task task) {
+        Entry entry;
+        try {
+            entry = new Entry(task.getVersion(), objectMapper.writeValueAsBytes(task));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.asMap().merge(task.getId(), entry, TaskJsonCache::newer);
+        return entry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(TaskChangedEvent.INVALIDATE_ORDER)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.CREATED) {
+            return;
+        }
+        Long version = event.getType() == TaskChangedEvent.Type.DELETED ? null : event.getTask().getVersion();
+        cache.asMap().merge(event.getTaskId(), new Entry(version == null ? Long.MAX_VALUE : version, null),
+                TaskJsonCache::newer);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "taskJson");
+    }
+
+    // Keeps the newer entry; at the same version a serialized entry beats a marker.
+    private static Entry newer(Entry current, Entry candidate) {
+        if (candidate.version > current.version
+                || (candidate.version == current.version && current.json == null)) {
+            return candidate;
+        }
+        return current;
+    }
+
+    public static final class Entry {
+        private final long version;
+        private final byte[] json;
+
+        private Entry(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+    }
+}
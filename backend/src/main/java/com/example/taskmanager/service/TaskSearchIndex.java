@@ -0,0 +1,275 @@
+package com.example.taskmanager.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lucene full-text index over task titles and descriptions. It is rebuilt from the database in
+ * the background once the application is ready, and kept current from committed writes; like
+ * {@link TaskChangeTracker}, only writes made through {@link TaskService} are seen. Searches see
+ * those writes once the index is next refreshed, every {@code taskmanager.search.refresh-ms}, and
+ * during the rebuild they see the tasks indexed so far.
+ *
+ * <p>After-commit events can arrive out of order, and the rebuild can read a row before a newer
+ * write to it is indexed. Each task's indexed version is therefore kept in
+ * {@link TaskIndexVersions}, and older states are skipped.
+ *
+ * <p>The index lives on the heap unless {@code taskmanager.search.index-dir} names a directory,
+ * in which case it is memory-mapped from there. Either way it holds only ids and postings; the
+ * tasks themselves are loaded from the database.
+ */
+@Component
+@Profile("!reactive")
+public class TaskSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    // A title match counts for more than the same match in the description.
+    private static final float TITLE_BOOST = 3f;
+    // Prefix matches score a constant below typical exact matches, so whole words rank first.
+    private static final float PREFIX_BOOST = 0.5f;
+    // Shorter prefixes match most of the vocabulary and would cost more than they help.
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private final TaskRepository repository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searchers;
+    private final ScheduledExecutorService refresher;
+    // Indexed version per task; a task's document only changes while its entry is locked.
+    private final TaskIndexVersions<Void> versions = new TaskIndexVersions<>();
+    private volatile Thread rebuilder;
+    private volatile boolean closing;
+
+    public TaskSearchIndex(TaskRepository repository,
+                           @Value("${taskmanager.search.index-dir:}") String indexDir,
+                           @Value("${taskmanager.search.refresh-ms:100}") long refreshMillis) throws IOException {
+        this.repository = repository;
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(directory,
+                new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        this.searchers = new SearcherManager(writer, null);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-search-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startRebuild() {
+        rebuilder = Thread.ofPlatform().name("task-search-rebuild").daemon().start(this::rebuild);
+    }
+
+    /**
+     * Indexes every task, a keyset page at a time. Writes committed meanwhile are indexed by
+     * their events as usual; a row read before such a write is skipped by its version.
+     */
+    void rebuild() {
+        long lastId = 0;
+        versions.rebuildStarted();
+        try {
+            List<Task> page;
+            do {
+                page = repository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                for (Task task : page) {
+                    apply(task.getId(), versionOf(task), task);
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE && !closing);
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Search index rebuild stopped after task {}; later tasks are searchable once written", lastId, e);
+        } finally {
+            versions.rebuildFinished();
+        }
+    }
+
+    /**
+     * Ids of the tasks matching every word of {@code text}, best match first, skipping the first
+     * {@code offset} and returning at most {@code max}. Each word matches whole words in the
+     * title or description and, from three characters on, words starting with it.
+     */
+    public List<Long> search(String text, int offset, int max) {
+        Query query = parse(text);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, offset + max).scoreDocs;
+                StoredFields fields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(Math.max(0, hits.length - offset));
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.parseLong(fields.document(hits[i].doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes every write indexed so far visible to searches, waiting for a refresh in progress.
+     */
+    public void refresh() {
+        try {
+            searchers.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Long id = event.getTaskId();
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            versions.delete(id, previous -> {
+                try {
+                    writer.deleteDocuments(new Term(ID, id.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else {
+            apply(id, versionOf(event.getTask()), event.getTask());
+        }
+    }
+
+    // Indexes the task's state at that version, unless a newer state is already indexed.
+    private void apply(Long id, long version, Task task) {
+        versions.apply(id, version, null, (previous, none) -> {
+            try {
+                writer.updateDocument(new Term(ID, id.toString()), document(task));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Tasks built outside JPA, as in tests and benchmarks, have no version yet.
+    private static long versionOf(Task task) {
+        return task.getVersion() == null ? 0 : task.getVersion();
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        // Not interrupted: an interrupt closes the channels of a file-backed database.
+        closing = true;
+        if (rebuilder != null) {
+            rebuilder.join();
+        }
+        refresher.shutdownNow();
+        searchers.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void refreshQuietly() {
+        try {
+            searchers.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            // The next run tries again; a failure must not cancel the schedule.
+        }
+    }
+
+    private static Document document(Task task) {
+        Document document = new Document();
+        document.add(new StringField(ID, task.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, task.getTitle(), Field.Store.NO));
+        if (task.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, task.getDescription(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    // Every word must match; null if the text holds no words.
+    private Query parse(String text) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int words = 0;
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (words < MAX_QUERY_TERMS && tokens.incrementToken()) {
+                query.add(word(term.toString()), BooleanClause.Occur.MUST);
+                words++;
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words == 0 ? null : query.build();
+    }
+
+    private static Query word(String word) {
+        BooleanQuery.Builder either = new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(TITLE, word)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                .add(new TermQuery(new Term(DESCRIPTION, word)), BooleanClause.Occur.SHOULD);
+        if (word.length() >= MIN_PREFIX_LENGTH) {
+            either.add(new BoostQuery(new PrefixQuery(new Term(TITLE, word)), PREFIX_BOOST * TITLE_BOOST),
+                            BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(DESCRIPTION, word)), PREFIX_BOOST),
+                            BooleanClause.Occur.SHOULD);
+        }
+        return either.build();
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskBatchOperation;
+import com.example.taskmanager.model.TaskBatchResult;
+import com.example.taskmanager.model.TaskTombstone;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Write paths for tasks. Single-task calls and batches share the same field mapping so a batch
+ * entry behaves exactly like the equivalent REST call.
+ */
+@Service
+@Profile("!reactive")
+@Transactional
+public class TaskService {
+
+    /** Task properties a client may set; {@code id}, {@code version} and {@code changeSeq} are server-owned. */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "status", "dueDate");
+
+    // Optimistic attempts of an unconditional write, the last of which locks the row.
+    static final int UNCONDITIONAL_WRITE_ATTEMPTS = 3;
+
+    private final TaskRepository repository;
+    private final TaskTombstoneRepository tombstones;
+    private final TaskChangeSequence changeSequence;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate writes;
+
+    public TaskService(TaskRepository repository, TaskTombstoneRepository tombstones,
+                       TaskChangeSequence changeSequence, Validator validator, ApplicationEventPublisher events,
+                       PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.tombstones = tombstones;
+        this.changeSequence = changeSequence;
+        this.validator = validator;
+        this.events = events;
+        this.writes = new TransactionTemplate(transactionManager);
+    }
+
+    public Task create(Task incoming) {
+        Task toSave = new Task();
+        copyFields(incoming, toSave);
+        toSave.setChangeSeq(changeSequence.next());
+        Task saved = repository.save(toSave);
+        events.publishEvent(TaskChangedEvent.created(saved));
+        return saved;
+    }
+
+    /**
+     * Replaces a task. With {@code expectedVersion} the new state is known without reading the
+     * row, so it is written with a single version-checked UPDATE; the task is only looked up
+     * when no row was updated, to tell a version mismatch from a missing task. Without it the
+     * new version is not known up front, so the task is written through the entity, which is
+     * usually served by the second-level cache and leaves the UPDATE as the only statement; a
+     * conflict is retried on the newer row (see {@link #writeRetryingConflicts}), so the last
+     * writer wins.
+     *
+     * @param expectedVersion version the client last saw, or null to update unconditionally
+     * @throws OptimisticLockingFailureException if the task exists with a different version
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Task> update(Long id, Long expectedVersion, Task incoming) {
+        if (expectedVersion != null) {
+            return writes.execute(status -> {
+                Task updated = new Task();
+                updated.setId(id);
+                copyFields(incoming, updated);
+                updated.setVersion(expectedVersion + 1);
+                updated.setChangeSeq(changeSequence.next());
+                if (repository.updateTaskById(id, expectedVersion, updated, updated.getChangeSeq()) == 0) {
+                    if (repository.existsById(id)) {
+                        throw versionConflict(id, expectedVersion);
+                    }
+                    return Optional.<Task>empty();
+                }
+                events.publishEvent(TaskChangedEvent.updated(updated));
+                return Optional.of(updated);
+            });
+        }
+        return writeRetryingConflicts(null, lock -> {
+            Optional<Task> existing = loadForWrite(id, expectedVersion, lock);
+            existing.ifPresent(task -> {
+                copyFields(incoming, task);
+                task.setChangeSeq(changeSequence.next());
+                events.publishEvent(TaskChangedEvent.updated(task));
+            });
+            return existing;
+        });
+    }
+
+    /**
+     * Applies a JSON Merge Patch: only the {@code fields} named in the patch are copied from
+     * {@code values}, so the UPDATE touches just those columns. A patch that changes nothing
+     * leaves the task, its version and the change feed alone.
+     *
+     * @param fields the patched properties, a subset of {@link #PATCHABLE_FIELDS}
+     * @param expectedVersion version the client last saw, or null to patch unconditionally
+     * @throws OptimisticLockingFailureException if the task exists with a different version
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Task> patch(Long id, Long expectedVersion, Task values, Set<String> fields) {
+        return writeRetryingConflicts(expectedVersion, lock -> {
+            Optional<Task> existing = loadForWrite(id, expectedVersion, lock);
+            existing.ifPresent(task -> {
+                if (copyFields(values, task, fields)) {
+                    task.setChangeSeq(changeSequence.next());
+                    events.publishEvent(TaskChangedEvent.updated(task));
+                }
+            });
+            return existing;
+        });
+    }
+
+    /**
+     * Checks the patched {@code fields} of {@code values} against the constraints on
+     * {@link Task}; fields the patch leaves out are not looked at.
+     *
+     * @return one message per violation; empty if the patch may be applied
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> validatePatch(Task values, Set<String> fields) {
+        List<String> errors = new ArrayList<>();
+        for (String field : fields) {
+            for (ConstraintViolation<Task> violation : validator.validateProperty(values, field)) {
+                errors.add(field + ": " + violation.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Deletes a task with a single DELETE, version-checked when {@code expectedVersion} is
+     * given, and records a tombstone for the change feed. Only when no row was deleted is the
+     * task looked up, to tell a version mismatch from a missing task.
+     *
+     * @param expectedVersion version the client last saw, or null to delete unconditionally
+     * @return false if no task has this id
+     * @throws OptimisticLockingFailureException if the task exists with a different version
+     */
+    public boolean delete(Long id, Long expectedVersion) {
+        if (repository.deleteTaskById(id, expectedVersion) == 0) {
+            if (expectedVersion != null && repository.existsById(id)) {
+                throw versionConflict(id, expectedVersion);
+            }
+            return false;
+        }
+        tombstones.save(new TaskTombstone(changeSequence.next(), id));
+        events.publishEvent(TaskChangedEvent.deleted(id));
+        return true;
+    }
+
+    /**
+     * Runs a single-task write in its own transaction. A conditional write fails on a version
+     * conflict. An unconditional one read a task that another write changed before its UPDATE
+     * ran, and is simply run again on the newer row; its last attempt locks the row before
+     * reading it, so it can't lose again.
+     */
+    private <T> T writeRetryingConflicts(Long expectedVersion, Function<Boolean, T> write) {
+        for (int attempt = 1; ; attempt++) {
+            boolean lock = expectedVersion == null && attempt == UNCONDITIONAL_WRITE_ATTEMPTS;
+            try {
+                return writes.execute(status -> write.apply(lock));
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null || lock) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Optional<Task> loadForWrite(Long id, Long expectedVersion, boolean lock) {
+        if (lock) {
+            return repository.findForUpdateById(id);
+        }
+        Optional<Task> task = repository.findById(id);
+        if (expectedVersion != null && task.isPresent() && !expectedVersion.equals(task.get().getVersion())) {
+            throw versionConflict(id, expectedVersion);
+        }
+        return task;
+    }
+
+    private static OptimisticLockingFailureException versionConflict(Long id, Long expectedVersion) {
+        return new OptimisticLockingFailureException("Task " + id + " no longer has version " + expectedVersion);
+    }
+
+    /**
+     * Checks every operation of a batch without touching the database.
+     *
+     * @return one result per invalid operation; empty if the whole batch may be applied
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TaskBatchResult> validateBatch(List<TaskBatchOperation> operations) {
+        List<TaskBatchResult> invalid = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            List<String> errors = new ArrayList<>();
+            if (operation == null || operation.getOp() == null) {
+                errors.add("op: must be one of CREATE, UPDATE, DELETE");
+            } else {
+                if (operation.getOp() != TaskBatchOperation.Type.CREATE && operation.getId() == null) {
+                    errors.add("id: must not be null");
+                }
+                if (operation.getOp() != TaskBatchOperation.Type.DELETE) {
+                    if (operation.getTask() == null) {
+                        errors.add("task: must not be null");
+                    } else {
+                        for (ConstraintViolation<Task> violation : validator.validate(operation.getTask())) {
+                            errors.add("task." + violation.getPropertyPath() + ": " + violation.getMessage());
+                        }
+                    }
+                }
+            }
+            if (!errors.isEmpty()) {
+                TaskBatchResult result = new TaskBatchResult(i, operation == null ? null : operation.getOp(),
+                        operation == null ? null : operation.getId(), HttpStatus.BAD_REQUEST.value());
+                result.setErrors(errors);
+                invalid.add(result);
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Applies a validated batch in one transaction. Every task referenced by an update or delete
+     * is loaded with a single IN query; the resulting INSERT, UPDATE and DELETE statements are
+     * sent in JDBC batches at flush. Operations on missing tasks are reported as 404, and
+     * operations whose {@code version} no longer matches as 412; neither aborts the others.
+     */
+    public List<TaskBatchResult> applyBatch(List<TaskBatchOperation> operations) {
+        Set<Long> referencedIds = new HashSet<>();
+        for (TaskBatchOperation operation : operations) {
+            if (operation.getOp() != TaskBatchOperation.Type.CREATE) {
+                referencedIds.add(operation.getId());
+            }
+        }
+        Map<Long, Task> existing = new HashMap<>();
+        for (Task task : repository.findAllById(referencedIds)) {
+            existing.put(task.getId(), task);
+        }
+
+        List<TaskBatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            TaskBatchOperation.Type type = operation.getOp();
+            switch (type) {
+                case CREATE -> {
+                    Task created = new Task();
+                    copyFields(operation.getTask(), created);
+                    created.setChangeSeq(changeSequence.next());
+                    repository.save(created);
+                    events.publishEvent(TaskChangedEvent.created(created));
+                    TaskBatchResult result = new TaskBatchResult(i, type, created.getId(), HttpStatus.CREATED.value());
+                    result.setTask(created);
+                    results.add(result);
+                }
+                case UPDATE -> {
+                    Task target = existing.get(operation.getId());
+                    if (target == null) {
+                        results.add(new TaskBatchResult(i, type, operation.getId(), HttpStatus.NOT_FOUND.value()));
+                    } else if (isStale(operation, target)) {
+                        results.add(new TaskBatchResult(i, type, operation.getId(), HttpStatus.PRECONDITION_FAILED.value()));
+                    } else {
+                        copyFields(operation.getTask(), target);
+                        target.setChangeSeq(changeSequence.next());
+                        events.publishEvent(TaskChangedEvent.updated(target));
+                        TaskBatchResult result = new TaskBatchResult(i, type, target.getId(), HttpStatus.OK.value());
+                        result.setTask(target);
+                        results.add(result);
+                    }
+                }
+                case DELETE -> {
+                    Task target = existing.get(operation.getId());
+                    if (target == null) {
+                        results.add(new TaskBatchResult(i, type, operation.getId(), HttpStatus.NOT_FOUND.value()));
+                    } else if (isStale(operation, target)) {
+                        results.add(new TaskBatchResult(i, type, operation.getId(), HttpStatus.PRECONDITION_FAILED.value()));
+                    } else {
+                        existing.remove(operation.getId());
+                        repository.delete(target);
+                        tombstones.save(new TaskTombstone(changeSequence.next(), target.getId()));
+                        events.publishEvent(TaskChangedEvent.deleted(target.getId()));
+                        results.add(new TaskBatchResult(i, type, operation.getId(), HttpStatus.NO_CONTENT.value()));
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static boolean isStale(TaskBatchOperation operation, Task target) {
+        return operation.getVersion() != null && !operation.getVersion().equals(target.getVersion());
+    }
+
+    private static void copyFields(Task source, Task target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setStatus(source.getStatus());
+        target.setDueDate(source.getDueDate());
+    }
+
+    // Returns whether any of the fields actually changed.
+    private static boolean copyFields(Task source, Task target, Set<String> fields) {
+        boolean changed = false;
+        if (fields.contains("title") && !Objects.equals(source.getTitle(), target.getTitle())) {
+            target.setTitle(source.getTitle());
+            changed = true;
+        }
+        if (fields.contains("description") && !Objects.equals(source.getDescription(), target.getDescription())) {
+            target.setDescription(source.getDescription());
+            changed = true;
+        }
+        if (fields.contains("status") && source.getStatus() != target.getStatus()) {
+            target.setStatus(source.getStatus());
+            changed = true;
+        }
+        if (fields.contains("dueDate") && !Objects.equals(source.getDueDate(), target.getDueDate())) {
+            target.setDueDate(source.getDueDate());
+            changed = true;
+        }
+        return changed;
+    }
+}
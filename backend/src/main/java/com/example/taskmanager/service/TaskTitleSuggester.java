@@ -0,0 +1,388 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Title autocomplete from an in-memory radix trie of task titles. Titles are matched on their
+ * start, ignoring case and runs of whitespace. Suggestions rank titles shared by more tasks first
+ * and then alphabetically; a title that several tasks spell differently is shown in the
+ * spelling most of them use, the most recently written one on a tie.
+ *
+ * <p>Every node records the highest task count below it, so the best {@code k} titles under a
+ * prefix are found best-first without visiting the rest of the subtree. The trie is built from
+ * the database in the background once the application is ready, suggesting from the titles
+ * indexed so far until then, and kept current from committed writes; like
+ * {@link TaskChangeTracker}, only writes made through {@link TaskService} are seen. As in
+ * {@link TaskSearchIndex}, each task's indexed version is kept in {@link TaskIndexVersions} so
+ * that late events and rows read by the rebuild never replace a newer title.
+ */
+@Component
+@Profile("!reactive")
+public class TaskTitleSuggester {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::rank).reversed()
+            .thenComparing(Candidate::path);
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTitleSuggester.class);
+
+    private final TaskRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    // The version and title each task was indexed under, to know what to remove when it changes.
+    private final TaskIndexVersions<String> indexed = new TaskIndexVersions<>();
+    private volatile Thread rebuilder;
+    private volatile boolean closing;
+
+    public TaskTitleSuggester(TaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startRebuild() {
+        rebuilder = Thread.ofPlatform().name("task-suggest-rebuild").daemon().start(this::rebuild);
+    }
+
+    /**
+     * Indexes every task's title, a keyset page at a time. Writes committed meanwhile are indexed
+     * by their events as usual; a row read before such a write is skipped by its version.
+     */
+    void rebuild() {
+        long lastId = 0;
+        indexed.rebuildStarted();
+        try {
+            List<Task> page;
+            do {
+                page = repository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                for (Task task : page) {
+                    apply(task.getId(), versionOf(task), task.getTitle());
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE && !closing);
+        } catch (RuntimeException e) {
+            log.warn("Title suggestion rebuild stopped after task {}; later titles are suggested once written",
+                    lastId, e);
+        } finally {
+            indexed.rebuildFinished();
+        }
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        // Not interrupted: an interrupt closes the channels of a file-backed database.
+        closing = true;
+        if (rebuilder != null) {
+            rebuilder.join();
+        }
+    }
+
+    /**
+     * Up to {@code limit} distinct titles starting with {@code prefix}, best first. An empty
+     * prefix suggests the most common titles.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = WHITESPACE.matcher(prefix.stripLeading()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            StringBuilder path = new StringBuilder();
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.child(key.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonLength(child.label, key, matched);
+                // Either the whole label matched or the prefix ends inside it; anything else diverges.
+                if (common < child.label.length() && matched + common < key.length()) {
+                    return List.of();
+                }
+                path.append(child.label);
+                node = child;
+                matched += common;
+            }
+            return best(node, path.toString(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            lock.writeLock().lock();
+            try {
+                indexed.delete(event.getTaskId(), previous -> {
+                    if (previous != null) {
+                        remove(normalize(previous), previous);
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            apply(event.getTaskId(), versionOf(event.getTask()), event.getTask().getTitle());
+        }
+    }
+
+    // Indexes the task's title at that version, unless a newer state is already indexed.
+    private void apply(Long id, long version, String title) {
+        String stripped = title.strip();
+        lock.writeLock().lock();
+        try {
+            indexed.apply(id, version, stripped, (previous, next) -> {
+                if (previous != null) {
+                    remove(normalize(previous), previous);
+                }
+                add(normalize(next), next);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tasks built outside JPA, as in tests, have no version yet.
+    private static long versionOf(Task task) {
+        return task.getVersion() == null ? 0 : task.getVersion();
+    }
+
+    private static String normalize(String title) {
+        return WHITESPACE.matcher(title.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private List<String> best(Node from, String fromPath, int limit) {
+        List<String> suggestions = new ArrayList<>(limit);
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(from, fromPath, from.best, false));
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node();
+            if (candidate.complete()) {
+                suggestions.add(node.title());
+                continue;
+            }
+            // A node's path sorts before every title below it, so at equal rank it is expanded
+            // before any of them is taken.
+            if (node.count > 0) {
+                queue.add(new Candidate(node, candidate.path(), node.count, true));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child, candidate.path() + child.label, child.best, false));
+            }
+        }
+        return suggestions;
+    }
+
+    private void add(String key, String title) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            int slot = node.slot(key.charAt(matched));
+            if (slot < 0) {
+                Node leaf = new Node(key.substring(matched));
+                node.insert(-slot - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[slot];
+            int common = commonLength(child.label, key, matched);
+            if (common < child.label.length()) {
+                // Split the edge where the key leaves it.
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] {child};
+                middle.best = child.best;
+                node.children[slot] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            matched += common;
+        }
+        node.count++;
+        node.addSpelling(title);
+        for (Node onPath : path) {
+            onPath.best = Math.max(onPath.best, node.count);
+        }
+    }
+
+    private void remove(String key, String title) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.child(key.charAt(matched));
+            if (child == null || !key.startsWith(child.label, matched)) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            matched += child.label.length();
+        }
+        if (node.count == 0) {
+            return;
+        }
+        node.count--;
+        node.removeSpelling(title);
+        // Bottom-up: drop nodes that hold nothing, merge ones left with a single child into it,
+        // and recompute the best count below each.
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.count == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.count == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.slot(only.label.charAt(0))] = only;
+            } else {
+                current.updateBest();
+            }
+        }
+        root.updateBest();
+    }
+
+    private static int commonLength(String label, String key, int from) {
+        int max = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Candidate(Node node, String path, int rank, boolean complete) {
+    }
+
+    private static final class Node {
+        private String label;
+        // Sorted by first character; no two children share one.
+        private Node[] children = NO_CHILDREN;
+        // How many tasks spell the title ending here each way, least recently written first; null
+        // while count is 0.
+        private Map<String, Integer> spellings;
+        private int count;
+        private int best;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int slot(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char probe = children[mid].label.charAt(0);
+                if (probe < first) {
+                    low = mid + 1;
+                } else if (probe > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private Node child(char first) {
+            int slot = slot(first);
+            return slot < 0 ? null : children[slot];
+        }
+
+        private void insert(int at, Node child) {
+            Node[] grown = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            grown[at] = child;
+            children = grown;
+        }
+
+        private void removeChild(Node child) {
+            int at = slot(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, at);
+            System.arraycopy(children, at + 1, shrunk, at, children.length - at - 1);
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+
+        private void addSpelling(String title) {
+            if (spellings == null) {
+                spellings = new LinkedHashMap<>();
+            }
+            // Re-inserted, so that it moves to the end as the most recently written.
+            Integer tasks = spellings.remove(title);
+            spellings.put(title, tasks == null ? 1 : tasks + 1);
+        }
+
+        private void removeSpelling(String title) {
+            Integer tasks = spellings.get(title);
+            if (tasks == null) {
+                return;
+            }
+            if (tasks == 1) {
+                spellings.remove(title);
+            } else {
+                spellings.put(title, tasks - 1);
+            }
+            if (spellings.isEmpty()) {
+                spellings = null;
+            }
+        }
+
+        // The spelling most tasks use, the most recently written one on a tie.
+        private String title() {
+            String title = null;
+            int most = 0;
+            for (Map.Entry<String, Integer> spelling : spellings.entrySet()) {
+                if (spelling.getValue() >= most) {
+                    title = spelling.getKey();
+                    most = spelling.getValue();
+                }
+            }
+            return title;
+        }
+
+        private void updateBest() {
+            int max = count;
+            for (Node child : children) {
+                max = Math.max(max, child.best);
+            }
+            best = max;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Schema for the reactive profile, which talks to the database through R2DBC instead of
+-- Hibernate and so cannot rely on ddl-auto. Mirrors the tables the JPA mapping generates.
+create sequence if not exists tasks_seq start with 1 increment by 1;
+create sequence if not exists task_change_seq start with 1 increment by 1;
+
+create table if not exists tasks (
+    id bigint primary key,
+    title varchar(100) not null,
+    description varchar(500),
+    status varchar(20),
+    due_date date,
+    version bigint not null default 0,
+    change_seq bigint
+);
+
+create index if not exists idx_tasks_status_due_date on tasks (status, due_date);
+create index if not exists idx_tasks_due_date on tasks (due_date);
+create index if not exists idx_tasks_change_seq on tasks (change_seq);
+
+create table if not exists task_tombstones (
+    change_seq bigint primary key,
+    task_id bigint not null,
+    deleted_at timestamp with time zone not null
+);
@@ -0,0 +1,141 @@
+package com.example.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FrontendConfigTests {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    // A stand-in for frontend/dist as the Vite build leaves it.
+    private static final Path DIST = createDist();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void frontendLocation(DynamicPropertyRegistry registry) {
+        registry.add("taskmanager.frontend.location", () -> DIST.toUri().toString());
+    }
+
+    private static Path createDist() {
+        try {
+            Path dist = Files.createTempDirectory("frontend-dist");
+            Path assets = Files.createDirectories(dist.resolve("assets"));
+            Files.writeString(dist.resolve("index.html"), "<!doctype html><div id=\"root\"></div>");
+            Files.writeString(assets.resolve("index-abc123.js"), "console.log('plain')");
+            Files.writeString(assets.resolve("index-abc123.js.gz"), "gzip bytes");
+            Files.writeString(assets.resolve("index-abc123.js.br"), "brotli bytes");
+            Files.write(assets.resolve("vendor-def456.js"), new byte[64 * 1024]);
+            Files.writeString(dist.resolve("notes.txt"), "not part of the build");
+            return dist;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===================== ASSET TESTS =====================
+    @Test
+    void testAsset_BrotliPreferredWhenAccepted() throws Exception {
+        // When & Then: A browser accepting both gets the brotli file, with the script's type
+        mockMvc.perform(get("/assets/index-abc123.js").header("Accept-Encoding", "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "br"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(header().string("Content-Type", containsString("javascript")))
+                .andExpect(content().string("brotli bytes"));
+    }
+
+    @Test
+    void testAsset_GzipOrPlainByAcceptEncoding() throws Exception {
+        // When & Then: gzip only gets the .gz file
+        mockMvc.perform(get("/assets/index-abc123.js").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().string("gzip bytes"));
+
+        // And: No Accept-Encoding gets the original
+        mockMvc.perform(get("/assets/index-abc123.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("console.log('plain')"));
+    }
+
+    @Test
+    void testAsset_Missing() throws Exception {
+        // When & Then: Unknown files are 404
+        mockMvc.perform(get("/assets/missing.js"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ===================== MAPPING TESTS =====================
+    @Test
+    void testMapping_OnlyBuildPathsServed() throws Exception {
+        // When & Then: Other files in the build directory are not served
+        mockMvc.perform(get("/notes.txt"))
+                .andExpect(status().isNotFound());
+
+        // And: The Swagger UI is still reachable
+        mockMvc.perform(get("/swagger-ui/index.html"))
+                .andExpect(status().isOk());
+    }
+
+    // ===================== INDEX TESTS =====================
+    @Test
+    void testIndex_RevalidatedAndServedForRoot() throws Exception {
+        // When & Then: index.html must be revalidated so new builds are picked up
+        mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(containsString("id=\"root\"")));
+
+        // And: The root forwards to it
+        mockMvc.perform(get("/"))
+                .andExpect(forwardedUrl("/index.html"));
+    }
+
+    // ===================== SENDFILE TESTS =====================
+    @Test
+    void testLargeAsset_HandedToSendfile() throws Exception {
+        // When: A 64 KB file is requested on a connector that supports sendfile
+        String expected = DIST.resolve("assets/vendor-def456.js").toFile().getCanonicalPath();
+        mockMvc.perform(get("/assets/vendor-def456.js").requestAttr(SENDFILE_SUPPORTED, true))
+                // Then: Tomcat is told to send the file, and nothing is copied into the body
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 64 * 1024))
+                .andExpect(request().attribute(SENDFILE_FILENAME, expected))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testLargeAsset_CopiedWithoutSendfileSupport() throws Exception {
+        // When & Then: Without the connector's support the file is written as usual
+        mockMvc.perform(get("/assets/vendor-def456.js"))
+                .andExpect(status().isOk())
+                .andExpect(request().attribute(SENDFILE_FILENAME, nullValue()))
+                .andExpect(content().bytes(new byte[64 * 1024]));
+
+        // And: Small files never use it
+        mockMvc.perform(get("/assets/index-abc123.js").requestAttr(SENDFILE_SUPPORTED, true))
+                .andExpect(request().attribute(SENDFILE_FILENAME, nullValue()))
+                .andExpect(content().string("console.log('plain')"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCompressionFilterTests {
+
+    private static final int MIN_SIZE = 64;
+
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(MIN_SIZE);
+
+    private MockHttpServletResponse respond(int bodySize) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(new byte[bodySize]);
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // ===================== THRESHOLD TESTS =====================
+    @Test
+    void testBodyOfMinSizeIsCompressed() throws Exception {
+        // When & Then: A body of exactly the minimum size is gzipped
+        assertEquals("gzip", respond(MIN_SIZE).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testBodyBelowMinSizeIsNotCompressed() throws Exception {
+        // When: A body one byte short of the minimum size is written
+        MockHttpServletResponse response = respond(MIN_SIZE - 1);
+
+        // Then: It goes out unchanged with its length
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(MIN_SIZE - 1, response.getContentLength());
+    }
+}
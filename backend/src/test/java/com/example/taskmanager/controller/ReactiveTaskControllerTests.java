@@ -0,0 +1,236 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveTaskControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("delete from tasks").then().block();
+        databaseClient.sql("delete from task_tombstones").then().block();
+    }
+
+    private Task create(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        return webTestClient.post().uri("/api/tasks")
+                .bodyValue(task)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class)
+                .returnResult().getResponseBody();
+    }
+
+    // ===================== CREATE AND GET TESTS =====================
+    @Test
+    void testCreateAndGet_Success() {
+        // Given: A task created through the reactive API
+        Task created = create("Reactive Task", TaskStatus.IN_PROGRESS);
+        assertNotNull(created.getId());
+
+        // When & Then: GET returns it with its version as the ETag
+        webTestClient.get().uri("/api/tasks/" + created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + created.getId() + ".0\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Reactive Task")
+                .jsonPath("$.status").isEqualTo("IN_PROGRESS");
+    }
+
+    @Test
+    void testGetById_NotModified() {
+        // Given: A task and its ETag
+        Task created = create("Cached", TaskStatus.TODO);
+
+        // When & Then: If-None-Match with the current version is answered with 304
+        webTestClient.get().uri("/api/tasks/" + created.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + created.getId() + ".0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetById_NotFound() {
+        // When & Then: A missing task is 404
+        webTestClient.get().uri("/api/tasks/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testCreate_InvalidTitle() {
+        // When & Then: A blank title fails validation
+        webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    // ===================== LIST TESTS =====================
+    @Test
+    void testList_PagesWithLinkHeader() {
+        // Given: Three tasks
+        create("Task 1", TaskStatus.TODO);
+        create("Task 2", TaskStatus.TODO);
+        create("Task 3", TaskStatus.DONE);
+
+        // When: Ask for a page of two
+        String link = webTestClient.get().uri("/api/tasks?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Task 1")
+                .returnResult().getResponseHeaders().getFirst(HttpHeaders.LINK);
+
+        // Then: The Link header leads to the last task
+        assertNotNull(link);
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        webTestClient.get().uri(URI.create(next))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Task 3");
+    }
+
+    @Test
+    void testList_FilterByStatusUnpaged() {
+        // Given: Tasks with different statuses
+        create("Open", TaskStatus.TODO);
+        create("Finished", TaskStatus.DONE);
+
+        // When & Then: The filtered, unpaged list holds only the matching task
+        webTestClient.get().uri("/api/tasks?status=DONE&unpaged=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class)
+                .hasSize(1)
+                .value(tasks -> assertEquals("Finished", tasks.get(0).getTitle()));
+    }
+
+    @Test
+    void testList_UnsupportedSort() {
+        // When & Then: Only id sorts are available in the reactive variant
+        webTestClient.get().uri("/api/tasks?sort=dueDate")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testStream_Ndjson() {
+        // Given: Two tasks
+        create("First", TaskStatus.TODO);
+        create("Second", TaskStatus.TODO);
+
+        // When & Then: The stream emits them one JSON object per line in id order
+        List<Task> streamed = webTestClient.get().uri("/api/tasks/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(2, streamed.size());
+        assertEquals("First", streamed.get(0).getTitle());
+    }
+
+    // ===================== UPDATE AND DELETE TESTS =====================
+    @Test
+    void testUpdate_BumpsVersion() {
+        // Given: A task at version 0
+        Task created = create("Before", TaskStatus.TODO);
+        Task changes = new Task();
+        changes.setTitle("After");
+        changes.setStatus(TaskStatus.DONE);
+        changes.setDueDate(LocalDate.of(2026, 1, 1));
+
+        // When & Then: A conditional update succeeds and returns version 1
+        webTestClient.put().uri("/api/tasks/" + created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getId() + ".0\"")
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + created.getId() + ".1\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("After")
+                .jsonPath("$.dueDate").isEqualTo("2026-01-01");
+    }
+
+    @Test
+    void testUpdate_StaleVersion() {
+        // Given: A task at version 0
+        Task created = create("Before", TaskStatus.TODO);
+        Task changes = new Task();
+        changes.setTitle("Stale");
+
+        // When & Then: If-Match with another version is rejected with 412
+        webTestClient.put().uri("/api/tasks/" + created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getId() + ".5\"")
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void testDelete_LeavesTombstone() {
+        // Given: A task
+        Task created = create("Doomed", TaskStatus.TODO);
+
+        // When: Delete it
+        webTestClient.delete().uri("/api/tasks/" + created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // Then: It is gone and a tombstone records the deletion
+        webTestClient.get().uri("/api/tasks/" + created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        Long tombstones = databaseClient.sql("select count(*) from task_tombstones where task_id = :id")
+                .bind("id", created.getId())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        assertEquals(1L, tombstones);
+    }
+
+    @Test
+    void testDelete_NotFound() {
+        // When & Then: Deleting a missing task is 404
+        webTestClient.delete().uri("/api/tasks/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -1,19 +1,41 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.config.TaskProtobufHttpMessageConverter;
+import com.example.taskmanager.event.TaskChangedEvent;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.TaskChangeSequence;
+import com.example.taskmanager.service.TaskSearchIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +49,18 @@ class TaskControllerTests {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskChangeSequence changeSequence;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Task testTask;
 
     @BeforeEach
@@ -73,6 +107,295 @@ class TaskControllerTests {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    // ===================== PAGINATION TESTS =====================
+    @Test
+    void testGetAllTasks_PagedWithNextLink() throws Exception {
+        // Given: Three tasks in the database
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            taskRepository.save(task);
+        }
+
+        // When: GET /api/tasks?limit=2
+        String link = mockMvc.perform(get("/api/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", equalTo("Task 1")))
+                .andExpect(jsonPath("$[1].title", equalTo("Task 2")))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andReturn()
+                .getResponse()
+                .getHeader("Link");
+
+        // Then: Following the next link returns the remaining task and no further link
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("Task 3")))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testGetAllTasks_LastPageHasNoNextLink() throws Exception {
+        // Given: Two tasks in the database
+        taskRepository.save(testTask);
+        Task task2 = new Task();
+        task2.setTitle("Task 2");
+        taskRepository.save(task2);
+
+        // When & Then: A page that holds every task carries no Link header
+        mockMvc.perform(get("/api/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testGetAllTasks_Unpaged() throws Exception {
+        // Given: Three tasks in the database
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            taskRepository.save(task);
+        }
+
+        // When & Then: unpaged=true returns every task regardless of limit
+        mockMvc.perform(get("/api/tasks").param("unpaged", "true").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testGetAllTasks_InvalidCursor() throws Exception {
+        // When & Then: A cursor that was not issued by the server returns 400
+        mockMvc.perform(get("/api/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllTasks_LimitOutOfRange() throws Exception {
+        // When & Then: Limits outside 1..1000 return 400
+        mockMvc.perform(get("/api/tasks").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===================== FILTER AND SORT TESTS =====================
+    private Task saveTask(String title, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        return taskRepository.save(task);
+    }
+
+    @Test
+    void testGetAllTasks_FilterByStatus() throws Exception {
+        // Given: Tasks in different statuses
+        saveTask("Todo", TaskStatus.TODO, null);
+        saveTask("Doing", TaskStatus.IN_PROGRESS, null);
+        saveTask("Done", TaskStatus.DONE, null);
+
+        // When & Then: status=IN_PROGRESS returns only that task
+        mockMvc.perform(get("/api/tasks").param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("Doing")));
+    }
+
+    @Test
+    void testGetAllTasks_FilterByDueDateRange() throws Exception {
+        // Given: Tasks due on different dates, and one without a due date
+        saveTask("Early", TaskStatus.TODO, LocalDate.of(2025, 1, 1));
+        saveTask("Middle", TaskStatus.TODO, LocalDate.of(2025, 6, 1));
+        saveTask("Late", TaskStatus.TODO, LocalDate.of(2025, 12, 1));
+        saveTask("Undated", TaskStatus.TODO, null);
+
+        // When & Then: dueAfter/dueBefore are exclusive bounds
+        mockMvc.perform(get("/api/tasks")
+                .param("dueAfter", "2025-01-01")
+                .param("dueBefore", "2025-12-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("Middle")));
+    }
+
+    @Test
+    void testGetAllTasks_SortByDueDateDescendingUndatedLast() throws Exception {
+        // Given: Dated and undated tasks saved out of order
+        saveTask("Undated", TaskStatus.TODO, null);
+        saveTask("Early", TaskStatus.TODO, LocalDate.of(2025, 1, 1));
+        saveTask("Late", TaskStatus.TODO, LocalDate.of(2025, 12, 1));
+
+        // When & Then: sort=dueDate,desc orders dated tasks newest first, undated last
+        mockMvc.perform(get("/api/tasks").param("sort", "dueDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", equalTo("Late")))
+                .andExpect(jsonPath("$[1].title", equalTo("Early")))
+                .andExpect(jsonPath("$[2].title", equalTo("Undated")));
+    }
+
+    @Test
+    void testGetAllTasks_SortByDueDatePagesAcrossUndatedTasks() throws Exception {
+        // Given: Two dated and two undated tasks with a shared due date
+        saveTask("Undated 1", TaskStatus.TODO, null);
+        saveTask("Same day A", TaskStatus.TODO, LocalDate.of(2025, 3, 1));
+        saveTask("Same day B", TaskStatus.TODO, LocalDate.of(2025, 3, 1));
+        saveTask("Undated 2", TaskStatus.TODO, null);
+
+        // When: Pages of three are requested in dueDate order
+        String link = mockMvc.perform(get("/api/tasks").queryParam("sort", "dueDate").queryParam("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", equalTo("Same day A")))
+                .andExpect(jsonPath("$[1].title", equalTo("Same day B")))
+                .andExpect(jsonPath("$[2].title", equalTo("Undated 1")))
+                .andReturn()
+                .getResponse()
+                .getHeader("Link");
+
+        // Then: The next page continues with the remaining undated task
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("Undated 2")))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testGetAllTasks_SortByStatusInWorkflowOrderThenDueDate() throws Exception {
+        // Given: Tasks in every status and one without, saved out of order, some without a due date
+        saveTask("No status", null, LocalDate.of(2024, 1, 1));
+        saveTask("Done", TaskStatus.DONE, LocalDate.of(2025, 1, 1));
+        saveTask("Todo undated", TaskStatus.TODO, null);
+        saveTask("Doing", TaskStatus.IN_PROGRESS, LocalDate.of(2025, 2, 1));
+        saveTask("Todo late", TaskStatus.TODO, LocalDate.of(2025, 12, 1));
+        saveTask("Todo early", TaskStatus.TODO, LocalDate.of(2025, 3, 1));
+
+        // When & Then: sort=status lists TODO, IN_PROGRESS, DONE, each by due date with undated
+        // last, and then tasks without a status
+        mockMvc.perform(get("/api/tasks").param("sort", "status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[0].title", equalTo("Todo early")))
+                .andExpect(jsonPath("$[1].title", equalTo("Todo late")))
+                .andExpect(jsonPath("$[2].title", equalTo("Todo undated")))
+                .andExpect(jsonPath("$[3].title", equalTo("Doing")))
+                .andExpect(jsonPath("$[4].title", equalTo("Done")))
+                .andExpect(jsonPath("$[5].title", equalTo("No status")));
+
+        // And: sort=status,desc reverses the order, still listing undated tasks and tasks without
+        // a status last
+        mockMvc.perform(get("/api/tasks").param("sort", "status,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", equalTo("Done")))
+                .andExpect(jsonPath("$[1].title", equalTo("Doing")))
+                .andExpect(jsonPath("$[2].title", equalTo("Todo late")))
+                .andExpect(jsonPath("$[3].title", equalTo("Todo early")))
+                .andExpect(jsonPath("$[4].title", equalTo("Todo undated")))
+                .andExpect(jsonPath("$[5].title", equalTo("No status")));
+    }
+
+    @Test
+    void testGetAllTasks_SortByStatusPagesAcrossStatuses() throws Exception {
+        // Given: Two TODO tasks, one of them undated, and two IN_PROGRESS tasks sharing a due date
+        saveTask("Todo dated", TaskStatus.TODO, LocalDate.of(2025, 3, 1));
+        saveTask("Doing A", TaskStatus.IN_PROGRESS, LocalDate.of(2025, 4, 1));
+        saveTask("Todo undated", TaskStatus.TODO, null);
+        saveTask("Doing B", TaskStatus.IN_PROGRESS, LocalDate.of(2025, 4, 1));
+
+        // When: Pages of three are requested in status order
+        String link = mockMvc.perform(get("/api/tasks").queryParam("sort", "status").queryParam("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", equalTo("Todo dated")))
+                .andExpect(jsonPath("$[1].title", equalTo("Todo undated")))
+                .andExpect(jsonPath("$[2].title", equalTo("Doing A")))
+                .andReturn()
+                .getResponse()
+                .getHeader("Link");
+
+        // Then: The next page continues inside IN_PROGRESS after the shared due date
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("Doing B")))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testGetAllTasks_UnsupportedSort() throws Exception {
+        // When & Then: Sorting by a property without an index returns 400
+        mockMvc.perform(get("/api/tasks").param("sort", "title"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllTasks_CursorFromDifferentSort() throws Exception {
+        // Given: A cursor issued for the default id sort
+        saveTask("Task 1", TaskStatus.TODO, null);
+        saveTask("Task 2", TaskStatus.TODO, null);
+        String link = mockMvc.perform(get("/api/tasks").param("limit", "1"))
+                .andReturn()
+                .getResponse()
+                .getHeader("Link");
+        String cursor = link.substring(link.indexOf("cursor=") + "cursor=".length(), link.indexOf('>'));
+        if (cursor.contains("&")) {
+            cursor = cursor.substring(0, cursor.indexOf('&'));
+        }
+
+        // When & Then: Using it with sort=dueDate returns 400
+        mockMvc.perform(get("/api/tasks").param("sort", "dueDate").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllTasks_InvalidStatusFilter() throws Exception {
+        // When & Then: An unknown status returns 400
+        mockMvc.perform(get("/api/tasks").param("status", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===================== STREAM TESTS =====================
+    @Test
+    void testStreamTasks_Ndjson() throws Exception {
+        // Given: Three tasks in the database
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            taskRepository.save(task);
+        }
+
+        // When: GET /api/tasks/stream
+        String body = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Then: One JSON object per line, in id order
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("{"));
+            assertTrue(lines[i].contains("\"title\":\"Task " + (i + 1) + "\""));
+        }
+    }
+
+    @Test
+    void testStreamTasks_Empty() throws Exception {
+        // Given: No tasks in the database
+        // When & Then: The export is an empty body
+        mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
     // ===================== GET BY ID TESTS =====================
     @Test
     void testGetTaskById_Success() throws Exception {
@@ -315,48 +638,1295 @@ class TaskControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
-    // ===================== DELETE TESTS =====================
+    // ===================== PATCH TESTS =====================
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
     @Test
-    void testDeleteTask_Success() throws Exception {
+    void testPatchTask_OnlyStatus() throws Exception {
         // Given: A task exists in the database
         Task saved = taskRepository.save(testTask);
 
-        // When: DELETE /api/tasks/{id}
-        mockMvc.perform(delete("/api/tasks/" + saved.getId()))
-                .andExpect(status().isNoContent());
+        // When & Then: Patching the status leaves every other field as it was
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".1.")))
+                .andExpect(jsonPath("$.status", equalTo("DONE")))
+                .andExpect(jsonPath("$.title", equalTo("Test Task")))
+                .andExpect(jsonPath("$.description", equalTo("This is a test task")))
+                .andExpect(jsonPath("$.dueDate", equalTo("2025-12-31")));
 
-        // Then: Task is removed from database
+        // And: The change is visible to readers
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(jsonPath("$.status", equalTo("DONE")))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+    }
+
+    @Test
+    void testPatchTask_NullClearsField() throws Exception {
+        // Given: A task with a description and due date
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: null removes them, server-owned fields in the patch are ignored
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"description\": null, \"dueDate\": null, \"id\": 999, \"version\": 42}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", equalTo(saved.getId().intValue())))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.dueDate").doesNotExist())
+                .andExpect(jsonPath("$.title", equalTo("Test Task")))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+    }
+
+    @Test
+    void testPatchTask_ValidatesOnlyTouchedFields() throws Exception {
+        // Given: A task exists in the database
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: A blank title is rejected, naming the field
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"title\": \"  \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]", startsWith("title: ")));
+
+        // And: Values that don't parse are rejected too
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"status\": \"ARCHIVED\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]", equalTo("status: invalid value")));
+
+        // And: Nothing was written
         mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(jsonPath("$.title", equalTo("Test Task")))
+                .andExpect(jsonPath("$.version", equalTo(0)));
+    }
+
+    @Test
+    void testPatchTask_NoChangeKeepsVersion() throws Exception {
+        // Given: A task in TODO
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: Patching in the current values writes nothing
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"status\": \"TODO\", \"title\": \"Test Task\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".0.")))
+                .andExpect(jsonPath("$.version", equalTo(0)));
+    }
+
+    @Test
+    void testPatchTask_IfMatchAndNotFound() throws Exception {
+        // Given: A task that was changed after the client read it
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isOk());
+
+        // When & Then: A patch guarded by the old ETag is refused
+        mockMvc.perform(patch("/api/tasks/" + saved.getId())
+                .header("If-Match", etag)
+                .contentType(MERGE_PATCH)
+                .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        // And: Patching a missing task is 404
+        mockMvc.perform(patch("/api/tasks/999999")
+                .contentType(MERGE_PATCH)
+                .content("{\"status\": \"DONE\"}"))
                 .andExpect(status().isNotFound());
     }
 
+    // ===================== CONDITIONAL WRITE TESTS =====================
     @Test
-    void testDeleteTask_NotFound() throws Exception {
-        // Given: No task with ID 999 exists
-        // When & Then: DELETE /api/tasks/999 returns 404
-        mockMvc.perform(delete("/api/tasks/999"))
+    void testGetTaskById_HasVersionETag() throws Exception {
+        // Given: A new task
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: GET returns the version as a strong ETag
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".0.")))
+                .andExpect(jsonPath("$.version", equalTo(0)));
+    }
+
+    @Test
+    void testUpdateTask_IfMatchCurrentVersion() throws Exception {
+        // Given: A task and its current ETag
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: PUT with that ETag succeeds and returns the next version
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Guarded\", \"status\": \"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".1.")))
+                .andExpect(jsonPath("$.title", equalTo("Guarded")));
+    }
+
+    @Test
+    void testUpdateTask_IfMatchStaleVersion() throws Exception {
+        // Given: A task that was changed after the client read it
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Other tab\"}"))
+                .andExpect(status().isOk());
+
+        // When & Then: PUT with the old ETag is rejected and the other change survives
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Lost update\"}"))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Other tab", taskRepository.findById(saved.getId()).get().getTitle());
+    }
+
+    @Test
+    void testUpdateTask_IfMatchWeakTag() throws Exception {
+        // Given: A task
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: A weak validator never satisfies If-Match
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", "W/\"" + saved.getId() + ".0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Weak\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateTask_IfMatchList() throws Exception {
+        // Given: A task at version 1
+        Task saved = taskRepository.save(testTask);
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Changed\"}"))
+                .andExpect(status().isOk());
+
+        // When & Then: A list naming two versions is refused without writing
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", "\"" + saved.getId() + ".0.a-1\", \"" + saved.getId() + ".1.a-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Ambiguous\"}"))
+                .andExpect(status().isBadRequest());
+        assertEquals("Changed", taskRepository.findById(saved.getId()).get().getTitle());
+
+        // And: A list whose strong tags all name the current version matches
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", "W/\"" + saved.getId() + ".0\", \"" + saved.getId() + ".1.a-1\", \""
+                        + saved.getId() + ".1.a-2-gzip\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Listed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".2.")));
+    }
+
+    @Test
+    void testUpdateTask_IfMatchMissingTask() throws Exception {
+        // When & Then: A conditional update of a missing task is still 404
+        mockMvc.perform(put("/api/tasks/999")
+                .header("If-Match", "\"999.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Nobody\"}"))
                 .andExpect(status().isNotFound());
     }
 
     @Test
-    void testDeleteTask_MultipleDeletes() throws Exception {
-        // Given: Two tasks exist in the database
-        Task task1 = taskRepository.save(testTask);
-        
-        Task task2 = new Task();
-        task2.setTitle("Second Task");
-        task2.setStatus(TaskStatus.IN_PROGRESS);
-        Task saved2 = taskRepository.save(task2);
+    void testDeleteTask_IfMatchMissingTask() throws Exception {
+        // When & Then: A conditional delete of a missing task is still 404
+        mockMvc.perform(delete("/api/tasks/999").header("If-Match", "\"999.0\""))
+                .andExpect(status().isNotFound());
+    }
 
-        // When: Delete the first task
-        mockMvc.perform(delete("/api/tasks/" + task1.getId()))
+    @Test
+    void testDeleteTask_IfMatchStaleVersion() throws Exception {
+        // Given: A task that is at version 1
+        Task saved = taskRepository.save(testTask);
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Changed\"}"))
+                .andExpect(status().isOk());
+
+        // When & Then: DELETE expecting version 0 is rejected, expecting version 1 succeeds
+        mockMvc.perform(delete("/api/tasks/" + saved.getId()).header("If-Match", "\"" + saved.getId() + ".0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/tasks/" + saved.getId()).header("If-Match", "\"" + saved.getId() + ".1\""))
                 .andExpect(status().isNoContent());
+    }
 
-        // Then: First task is gone, second remains
-        mockMvc.perform(get("/api/tasks"))
+    @Test
+    void testUpdateTask_IfMatchOtherTaskTag() throws Exception {
+        // Given: Two tasks at the same version
+        Task saved = taskRepository.save(testTask);
+        Task other = saveTask("Other", TaskStatus.TODO, null);
+        String otherTag = mockMvc.perform(get("/api/tasks/" + other.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: The other task's tag does not match this one
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", otherTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Wrong task\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    // ===================== CONDITIONAL GET TESTS =====================
+    @Test
+    void testGetAllTasks_NotModifiedWithoutQuery() throws Exception {
+        // Given: A task list and its ETag
+        taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", equalTo(saved2.getId().intValue())));
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When: A row is removed behind the API's back, which the change counter cannot see
+        taskRepository.deleteAll();
+
+        // Then: The list is still answered with 304, proving no query ran
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    void testGetAllTasks_ChangedAfterWrite() throws Exception {
+        // Given: The ETag of an empty list
+        String etag = mockMvc.perform(get("/api/tasks"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When: A task is created through the API
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"New\"}"))
+                .andExpect(status().isCreated());
+
+        // Then: The old ETag no longer matches and the full list is returned
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testGetTaskById_NotModified() throws Exception {
+        // Given: A task and its ETag
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: Asking again with that ETag returns 304 without a body
+        mockMvc.perform(get("/api/tasks/" + saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetTaskById_OtherTaskTagNotModified() throws Exception {
+        // Given: Two tasks and the ETag of the second, issued after both were written
+        Task saved = taskRepository.save(testTask);
+        Task other = saveTask("Other", TaskStatus.TODO, null);
+        String otherTag = mockMvc.perform(get("/api/tasks/" + other.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: It does not answer for the first task
+        mockMvc.perform(get("/api/tasks/" + saved.getId()).header("If-None-Match", otherTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Test Task")));
+    }
+
+    @Test
+    void testGetAllTasks_TaskTagNotModified() throws Exception {
+        // Given: A task's ETag
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: It does not answer for the list, although nothing changed since
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testGetTaskById_NotModifiedSendsCurrentTagForList() throws Exception {
+        // Given: A task's ETag, sent weak and in a list with a stale tag
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: The 304 carries the task's own strong tag, not the header
+        mockMvc.perform(get("/api/tasks/" + saved.getId()).header("If-None-Match", "\"" + saved.getId() + ".7.stale-1\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    void testGetTaskById_NotModifiedAfterUnrelatedWrite() throws Exception {
+        // Given: A task's ETag, then a write to a different task
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Other\"}"))
+                .andExpect(status().isCreated());
+
+        // When & Then: The task's version is unchanged, so it is still 304 with a refreshed tag
+        mockMvc.perform(get("/api/tasks/" + saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", allOf(startsWith("\"" + saved.getId() + ".0."), not(etag))));
+    }
+
+    @Test
+    void testGetTaskById_ModifiedAfterUpdate() throws Exception {
+        // Given: A task's ETag, then an update of that task
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Changed\"}"))
+                .andExpect(status().isOk());
+
+        // When & Then: The new state is returned
+        mockMvc.perform(get("/api/tasks/" + saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Changed")));
+    }
+
+    // ===================== DELETE TESTS =====================
+    @Test
+    void testDeleteTask_Success() throws Exception {
+        // Given: A task exists in the database
+        Task saved = taskRepository.save(testTask);
+
+        // When: DELETE /api/tasks/{id}
+        mockMvc.perform(delete("/api/tasks/" + saved.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then: Task is removed from database
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteTask_NotFound() throws Exception {
+        // Given: No task with ID 999 exists
+        // When & Then: DELETE /api/tasks/999 returns 404
+        mockMvc.perform(delete("/api/tasks/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteTask_MultipleDeletes() throws Exception {
+        // Given: Two tasks exist in the database
+        Task task1 = taskRepository.save(testTask);
+        
+        Task task2 = new Task();
+        task2.setTitle("Second Task");
+        task2.setStatus(TaskStatus.IN_PROGRESS);
+        Task saved2 = taskRepository.save(task2);
+
+        // When: Delete the first task
+        mockMvc.perform(delete("/api/tasks/" + task1.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then: First task is gone, second remains
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(saved2.getId().intValue())));
+    }
+
+    // ===================== BATCH TESTS =====================
+    @Test
+    void testBatch_MixedOperations() throws Exception {
+        // Given: Two existing tasks
+        Task toUpdate = taskRepository.save(testTask);
+        Task toDelete = new Task();
+        toDelete.setTitle("Delete Me");
+        toDelete = taskRepository.save(toDelete);
+
+        String batchJson = """
+                [
+                  {"op": "CREATE", "task": {"title": "Created in batch", "status": "TODO"}},
+                  {"op": "UPDATE", "id": %d, "task": {"title": "Updated in batch", "status": "DONE"}},
+                  {"op": "DELETE", "id": %d},
+                  {"op": "DELETE", "id": 999999}
+                ]
+                """.formatted(toUpdate.getId(), toDelete.getId());
+
+        // When & Then: POST /api/tasks/batch reports one result per operation
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].status", equalTo(201)))
+                .andExpect(jsonPath("$[0].id", notNullValue()))
+                .andExpect(jsonPath("$[0].task.title", equalTo("Created in batch")))
+                .andExpect(jsonPath("$[1].status", equalTo(200)))
+                .andExpect(jsonPath("$[1].task.status", equalTo("DONE")))
+                .andExpect(jsonPath("$[2].status", equalTo(204)))
+                .andExpect(jsonPath("$[3].status", equalTo(404)));
+
+        // Then: The database reflects the applied operations
+        assertEquals(2, taskRepository.count());
+        assertEquals("Updated in batch", taskRepository.findById(toUpdate.getId()).get().getTitle());
+        assertTrue(taskRepository.findById(toDelete.getId()).isEmpty());
+    }
+
+    @Test
+    void testBatch_InvalidOperationRejectsWholeBatch() throws Exception {
+        // Given: A batch whose second operation violates the title constraint
+        String batchJson = """
+                [
+                  {"op": "CREATE", "task": {"title": "Valid"}},
+                  {"op": "CREATE", "task": {"title": ""}},
+                  {"op": "UPDATE", "task": {"title": "Missing id"}}
+                ]
+                """;
+
+        // When & Then: 400 lists only the invalid operations
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index", equalTo(1)))
+                .andExpect(jsonPath("$[0].errors[0]", startsWith("task.title")))
+                .andExpect(jsonPath("$[1].index", equalTo(2)))
+                .andExpect(jsonPath("$[1].errors[0]", startsWith("id")));
+
+        // Then: Nothing was written
+        assertEquals(0, taskRepository.count());
+    }
+
+    @Test
+    void testBatch_StaleVersion() throws Exception {
+        // Given: A task at version 0
+        Task saved = taskRepository.save(testTask);
+        String batchJson = """
+                [
+                  {"op": "UPDATE", "id": %d, "version": 3, "task": {"title": "Stale"}},
+                  {"op": "DELETE", "id": %d, "version": 3}
+                ]
+                """.formatted(saved.getId(), saved.getId());
+
+        // When & Then: Both conditional operations report 412 and change nothing
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", equalTo(412)))
+                .andExpect(jsonPath("$[1].status", equalTo(412)));
+        assertEquals("Test Task", taskRepository.findById(saved.getId()).get().getTitle());
+    }
+
+    @Test
+    void testBatch_Empty() throws Exception {
+        // When & Then: An empty batch is a no-op
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testBatch_TooLargeRefusedWhileReading() throws Exception {
+        // Given: One operation more than the default limit of 5000, followed by a truncated body
+        StringBuilder batchJson = new StringBuilder("[");
+        for (int i = 0; i <= 5000; i++) {
+            batchJson.append("{\"op\": \"DELETE\", \"id\": ").append(i + 1).append("}, ");
+        }
+        batchJson.append("{\"op\": ");
+
+        // When & Then: Reading stops at the limit, before the broken tail is reached
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchJson.toString()))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    // ===================== CHANGE FEED TESTS =====================
+    @Test
+    void testChanges_ReportsUpsertsAndDeletesInOrder() throws Exception {
+        // Given: A cursor taken now, then a create, an update of another task and a delete
+        Task kept = taskRepository.save(testTask);
+        Task removed = new Task();
+        removed.setTitle("Remove Me");
+        removed = taskRepository.save(removed);
+        long since = changeSequence.next();
+
+        mockMvc.perform(put("/api/tasks/" + kept.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Kept\", \"status\": \"DONE\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/" + removed.getId()))
+                .andExpect(status().isNoContent());
+
+        // When & Then: The feed holds exactly those two changes, oldest first
+        mockMvc.perform(get("/api/tasks/changes").param("since", Long.toString(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].type", equalTo("UPSERT")))
+                .andExpect(jsonPath("$.changes[0].id", equalTo(kept.getId().intValue())))
+                .andExpect(jsonPath("$.changes[0].task.title", equalTo("Kept")))
+                .andExpect(jsonPath("$.changes[1].type", equalTo("DELETE")))
+                .andExpect(jsonPath("$.changes[1].id", equalTo(removed.getId().intValue())))
+                .andExpect(jsonPath("$.changes[1].task").doesNotExist())
+                .andExpect(jsonPath("$.hasMore", equalTo(false)));
+    }
+
+    @Test
+    void testChanges_PagesWithNextCursor() throws Exception {
+        // Given: Three tasks created after the cursor
+        long since = changeSequence.next();
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Task " + i + "\"}"))
+                    .andExpect(status().isCreated());
+        }
+
+        // When: Read the feed two entries at a time
+        String first = mockMvc.perform(get("/api/tasks/changes")
+                .param("since", Long.toString(since))
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore", equalTo(true)))
+                .andReturn().getResponse().getContentAsString();
+        long next = JsonPath.<Number>read(first, "$.next").longValue();
+
+        // Then: The next poll returns the remaining task and then nothing
+        mockMvc.perform(get("/api/tasks/changes")
+                .param("since", Long.toString(next))
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].task.title", equalTo("Task 3")))
+                .andExpect(jsonPath("$.hasMore", equalTo(false)));
+    }
+
+    @Test
+    void testChanges_NothingNew() throws Exception {
+        // Given: A cursor taken after the last write
+        long since = changeSequence.next();
+
+        // When & Then: The feed is empty and the cursor stays put
+        mockMvc.perform(get("/api/tasks/changes").param("since", Long.toString(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.next", equalTo((int) since)));
+    }
+
+    @Test
+    void testChanges_InvalidLimit() throws Exception {
+        // When & Then: A limit above the maximum is rejected
+        mockMvc.perform(get("/api/tasks/changes").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===================== EVENT STREAM TESTS =====================
+    private String awaitEvent(MvcResult subscription, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = subscription.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = subscription.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void testEvents_PushesCreateUpdateDelete() throws Exception {
+        // Given: An open event stream
+        MvcResult subscription = mockMvc.perform(get("/api/tasks/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When: A task is created, updated and deleted through the API
+        String created = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Live\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = JsonPath.<Number>read(created, "$.id").longValue();
+        mockMvc.perform(put("/api/tasks/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Live\", \"status\": \"DONE\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/" + id))
+                .andExpect(status().isNoContent());
+
+        // Then: The subscriber receives the three events in order
+        String stream = awaitEvent(subscription, "event:deleted");
+        int createdAt = stream.indexOf("event:created");
+        int updatedAt = stream.indexOf("event:updated");
+        int deletedAt = stream.indexOf("event:deleted");
+        assertTrue(createdAt >= 0 && createdAt < updatedAt && updatedAt < deletedAt, stream);
+        assertTrue(stream.contains("\"status\":\"DONE\""), stream);
+        assertTrue(stream.contains("{\"type\":\"DELETED\",\"id\":" + id + "}"), stream);
+    }
+
+    @Test
+    void testEvents_RejectedWriteIsNotPushed() throws Exception {
+        // Given: An open event stream
+        MvcResult subscription = mockMvc.perform(get("/api/tasks/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When: A batch is rejected, then a task is created
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"op\": \"CREATE\", \"task\": {\"title\": \"\"}}]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Committed\"}"))
+                .andExpect(status().isCreated());
+
+        // Then: Only the committed create is delivered
+        String stream = awaitEvent(subscription, "Committed");
+        assertEquals(stream.indexOf("event:created"), stream.lastIndexOf("event:created"), stream);
+    }
+
+    // ===================== STATS TESTS =====================
+    // Created through the API: the stats are reused until the service reports a write.
+    private void createTask(String title, TaskStatus status, LocalDate dueDate) throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"" + title + "\", \"status\": \"" + status + "\""
+                        + (dueDate == null ? "" : ", \"dueDate\": \"" + dueDate + "\"") + "}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testStats_CountsPerStatusAndOverdue() throws Exception {
+        // Given: Tasks in each status; two open ones and a finished one are past due
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        createTask("Late", TaskStatus.TODO, yesterday);
+        createTask("Upcoming", TaskStatus.TODO, LocalDate.now().plusDays(3));
+        createTask("Also late", TaskStatus.IN_PROGRESS, yesterday);
+        createTask("Finished late", TaskStatus.DONE, yesterday);
+
+        // When & Then: Every status is counted, and only open tasks count as overdue
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.asOf", equalTo(LocalDate.now().toString())))
+                .andExpect(jsonPath("$.total", equalTo(4)))
+                .andExpect(jsonPath("$.byStatus.TODO", equalTo(2)))
+                .andExpect(jsonPath("$.byStatus.IN_PROGRESS", equalTo(1)))
+                .andExpect(jsonPath("$.byStatus.DONE", equalTo(1)))
+                .andExpect(jsonPath("$.overdue", equalTo(2)))
+                .andExpect(jsonPath("$.overdueByStatus.TODO", equalTo(1)))
+                .andExpect(jsonPath("$.overdueByStatus.IN_PROGRESS", equalTo(1)))
+                .andExpect(jsonPath("$.overdueByStatus.DONE").doesNotExist());
+    }
+
+    @Test
+    void testStats_NotModifiedUntilATaskChanges() throws Exception {
+        // Given: The stats and their ETag
+        createTask("Open", TaskStatus.TODO, null);
+        String etag = mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: Unchanged stats are 304, and a write brings a fresh count
+        mockMvc.perform(get("/api/tasks/stats").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Another\", \"status\": \"DONE\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/tasks/stats").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.byStatus.DONE", equalTo(1)));
+    }
+
+    // ===================== SECOND-LEVEL CACHE TESTS =====================
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void testGetById_ServedFromCache() throws Exception {
+        // Given: A saved task, which is cached when its insert commits
+        Task saved = taskRepository.save(testTask);
+        Statistics statistics = clearedStatistics();
+
+        // When: It is read twice
+        mockMvc.perform(get("/api/tasks/" + saved.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Test Task")));
+
+        // Then: The first read hits the entity cache, the second the JSON cache, and no SQL ran
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUpdate_RefreshesOnlyTheUpdatedTask() throws Exception {
+        // Given: Two cached tasks
+        Task first = taskRepository.save(testTask);
+        Task other = new Task();
+        other.setTitle("Bystander");
+        other = taskRepository.save(other);
+
+        // When: The first one is updated
+        mockMvc.perform(put("/api/tasks/" + first.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Fresh\"}"))
+                .andExpect(status().isOk());
+
+        // Then: Reads see the new state, and the other task is still served from the cache
+        mockMvc.perform(get("/api/tasks/" + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Fresh")))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+        Statistics statistics = clearedStatistics();
+        mockMvc.perform(get("/api/tasks/" + other.getId())).andExpect(status().isOk());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUpdate_CachedTaskWrittenWithOneStatement() throws Exception {
+        // Given: A cached task
+        Task saved = taskRepository.save(testTask);
+        Statistics statistics = clearedStatistics();
+
+        // When: It is replaced without If-Match
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"One statement\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".1.")));
+
+        // Then: The task came from the cache and only the versioned UPDATE ran, without a lock
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUpdate_RetriedWhenCachedCopyIsStale() throws Exception {
+        // Given: A cached task whose row was changed behind the cache's back
+        Task saved = taskRepository.save(testTask);
+        jdbcTemplate.update("update tasks set title = 'Elsewhere', version = version + 1 where id = ?", saved.getId());
+
+        // When & Then: An unconditional PUT still wins, on top of the newer row
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Last writer\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Last writer")))
+                .andExpect(jsonPath("$.version", equalTo(2)));
+    }
+
+    @Test
+    void testDelete_EvictsCachedTask() throws Exception {
+        // Given: A cached task
+        Task saved = taskRepository.save(testTask);
+        mockMvc.perform(get("/api/tasks/" + saved.getId())).andExpect(status().isOk());
+
+        // When: It is deleted
+        mockMvc.perform(delete("/api/tasks/" + saved.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then: It is gone for later reads
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUpdate_IfMatchWrittenWithOneStatement() throws Exception {
+        // Given: A task that is not cached, and its ETag
+        Task saved = taskRepository.save(testTask);
+        String etag = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = clearedStatistics();
+
+        // When: It is replaced with If-Match
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Unread\", \"status\": \"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".1.")))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+
+        // Then: Only the versioned UPDATE ran, and later reads see the new row
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Task stored = taskRepository.findById(saved.getId()).get();
+        assertEquals("Unread", stored.getTitle());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void testWriteById_KeepsOtherTasksCached() throws Exception {
+        // Given: Three cached tasks
+        Task updated = taskRepository.save(testTask);
+        Task deleted = saveTask("Deleted", TaskStatus.TODO, null);
+        Task other = saveTask("Other", TaskStatus.TODO, null);
+
+        // When: One is replaced with If-Match and another deleted, each with a single statement
+        mockMvc.perform(put("/api/tasks/" + updated.getId())
+                .header("If-Match", "\"" + updated.getId() + ".0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Updated\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/" + deleted.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then: The untouched task is still cached
+        assertTrue(entityManagerFactory.getCache().contains(Task.class, other.getId()));
+        assertEquals("Updated", taskRepository.findById(updated.getId()).get().getTitle());
+    }
+
+    // ===================== JSON CACHE TESTS =====================
+    @Test
+    void testGetById_RepeatedReadServedFromJsonCache() throws Exception {
+        // Given: A task that has been read once
+        Task saved = taskRepository.save(testTask);
+        String first = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Statistics statistics = clearedStatistics();
+
+        // When & Then: The next read returns the same JSON and ETag without loading the entity
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".0.")))
+                .andExpect(content().json(first, true));
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetById_JsonCacheInvalidatedByWrites() throws Exception {
+        // Given: A task whose JSON is cached
+        Task saved = taskRepository.save(testTask);
+        mockMvc.perform(get("/api/tasks/" + saved.getId())).andExpect(status().isOk());
+
+        // When: It is updated, then read
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Rewritten\"}"))
+                .andExpect(status().isOk());
+
+        // Then: The read reflects the update
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Rewritten")))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+
+        // And: After a batch delete it is gone
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"op\": \"DELETE\", \"id\": " + saved.getId() + "}]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    // ===================== SEARCH TESTS =====================
+    // Created through the API, as only the service's writes reach the index.
+    private long createSearchable(String title, String description) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"" + title + "\", \"description\": \"" + description + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.id")).longValue();
+    }
+
+    @Test
+    void testSearch_TitleMatchesRankFirst() throws Exception {
+        // Given: One task naming the word in its description, one in its title
+        long inDescription = createSearchable("Prepare slides", "Summarize the zorblax findings");
+        long inTitle = createSearchable("Zorblax review", "Walk through the numbers");
+        createSearchable("Unrelated", "Nothing to see");
+        searchIndex.refresh();
+
+        // When & Then: Both match, the title match first
+        mockMvc.perform(get("/api/tasks/search").param("q", "zorblax"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(jsonPath("$[0].id", equalTo((int) inTitle)))
+                .andExpect(jsonPath("$[1].id", equalTo((int) inDescription)));
+    }
+
+    @Test
+    void testSearch_PrefixAndAllWordsRequired() throws Exception {
+        // Given: Two tasks sharing one word
+        long both = createSearchable("Quuxify deployment", "Roll out the quuxifier");
+        createSearchable("Quuxify backups", "Nightly");
+        searchIndex.refresh();
+
+        // When & Then: A word prefix matches, and every word must match
+        mockMvc.perform(get("/api/tasks/search").param("q", "quuxif deploy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(1)))
+                .andExpect(jsonPath("$[0].id", equalTo((int) both)));
+    }
+
+    @Test
+    void testSearch_PagesWithLinkHeader() throws Exception {
+        // Given: Three matching tasks
+        for (int i = 0; i < 3; i++) {
+            createSearchable("Frobnicate " + i, "Part " + i);
+        }
+        searchIndex.refresh();
+
+        // When: Ask for a page of two
+        MvcResult first = mockMvc.perform(get("/api/tasks/search").queryParam("q", "frobnicate").queryParam("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(header().string("Link", containsString("offset=2")))
+                .andReturn();
+
+        // Then: The next page holds the last one
+        String link = first.getResponse().getHeader("Link");
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(1)))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testSearch_UpdatesAndDeletesAreIndexed() throws Exception {
+        // Given: A task found by its title
+        long id = createSearchable("Blorptastic plan", "Draft");
+        searchIndex.refresh();
+        mockMvc.perform(get("/api/tasks/search").param("q", "blorptastic"))
+                .andExpect(jsonPath("$.length()", equalTo(1)));
+
+        // When: It is renamed
+        mockMvc.perform(put("/api/tasks/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Snargle plan\"}"))
+                .andExpect(status().isOk());
+        searchIndex.refresh();
+
+        // Then: It is found by the new title only
+        mockMvc.perform(get("/api/tasks/search").param("q", "blorptastic"))
+                .andExpect(jsonPath("$.length()", equalTo(0)));
+        mockMvc.perform(get("/api/tasks/search").param("q", "snargle"))
+                .andExpect(jsonPath("$.length()", equalTo(1)));
+
+        // And: Once deleted it is not found at all
+        mockMvc.perform(delete("/api/tasks/" + id)).andExpect(status().isNoContent());
+        searchIndex.refresh();
+        mockMvc.perform(get("/api/tasks/search").param("q", "snargle"))
+                .andExpect(jsonPath("$.length()", equalTo(0)));
+    }
+
+    @Test
+    void testSearch_LateEventsDoNotRestoreOlderStates() throws Exception {
+        // Given: A task renamed once, and a second task deleted
+        long renamed = createSearchable("Wibblefrond plan", "Draft");
+        mockMvc.perform(put("/api/tasks/" + renamed)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Plonkwise plan\"}"))
+                .andExpect(status().isOk());
+        long deleted = createSearchable("Gorbulent memo", "Draft");
+        mockMvc.perform(delete("/api/tasks/" + deleted)).andExpect(status().isNoContent());
+
+        // When: Events for their earlier states arrive late
+        Task stale = new Task();
+        stale.setId(renamed);
+        stale.setVersion(0L);
+        stale.setTitle("Wibblefrond plan");
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(stale));
+        Task gone = new Task();
+        gone.setId(deleted);
+        gone.setVersion(0L);
+        gone.setTitle("Gorbulent memo");
+        searchIndex.onTaskChanged(TaskChangedEvent.created(gone));
+        searchIndex.refresh();
+
+        // Then: The index keeps the newest states
+        mockMvc.perform(get("/api/tasks/search").param("q", "wibblefrond"))
+                .andExpect(jsonPath("$.length()", equalTo(0)));
+        mockMvc.perform(get("/api/tasks/search").param("q", "plonkwise"))
+                .andExpect(jsonPath("$.length()", equalTo(1)));
+        mockMvc.perform(get("/api/tasks/search").param("q", "gorbulent"))
+                .andExpect(jsonPath("$.length()", equalTo(0)));
+    }
+
+    @Test
+    void testSearch_InvalidParameters() throws Exception {
+        // When & Then: A blank query, an oversized page and a window past the cap are rejected
+        mockMvc.perform(get("/api/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/search").param("q", "x").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/search").param("q", "x").param("offset", "9990").param("limit", "20"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===================== SUGGEST TESTS =====================
+    @Test
+    void testSuggest_ReturnsMatchingTitlesMostUsedFirst() throws Exception {
+        // Given: Titles created through the API, one of them twice
+        createSearchable("Zephyr sync", "First");
+        createSearchable("Zephyr review", "Second");
+        createSearchable("Zephyr review", "Third");
+
+        // When & Then: Titles starting with the prefix come back, the shared one first
+        mockMvc.perform(get("/api/tasks/suggest").param("prefix", "zeph"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(jsonPath("$[0]", equalTo("Zephyr review")))
+                .andExpect(jsonPath("$[1]", equalTo("Zephyr sync")));
+    }
+
+    @Test
+    void testSuggest_InvalidLimit() throws Exception {
+        // When & Then: Limits outside 1..50 are rejected
+        mockMvc.perform(get("/api/tasks/suggest").param("prefix", "a").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/suggest").param("prefix", "a").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===================== WIRE FORMAT TESTS =====================
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Test
+    void testGetById_Cbor() throws Exception {
+        // Given: A saved task
+        Task saved = taskRepository.save(testTask);
+
+        // When: It is requested as CBOR
+        byte[] body = mockMvc.perform(get("/api/tasks/" + saved.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", startsWith("\"" + saved.getId() + ".0.")))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then: It decodes to the same task
+        Task decoded = Jackson2ObjectMapperBuilder.cbor().build().readValue(body, Task.class);
+        assertEquals(saved.getId(), decoded.getId());
+        assertEquals("Test Task", decoded.getTitle());
+        assertEquals(LocalDate.of(2025, 12, 31), decoded.getDueDate());
+    }
+
+    @Test
+    void testGetById_JsonWhenRankedAboveBinary() throws Exception {
+        // Given: A saved task
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: JSON with the higher quality wins over CBOR
+        mockMvc.perform(get("/api/tasks/" + saved.getId())
+                .header("Accept", "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title", equalTo("Test Task")));
+    }
+
+    @Test
+    void testGetById_FormatsHaveTheirOwnTags() throws Exception {
+        // Given: A task's JSON ETag
+        Task saved = taskRepository.save(testTask);
+        String json = mockMvc.perform(get("/api/tasks/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When: It is sent with a request for CBOR
+        String cbor = mockMvc.perform(get("/api/tasks/" + saved.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", not(json)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Then: The CBOR tag answers for CBOR and still passes If-Match
+        mockMvc.perform(get("/api/tasks/" + saved.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", cbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", cbor));
+        mockMvc.perform(put("/api/tasks/" + saved.getId())
+                .header("If-Match", cbor)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Guarded\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testList_FormatsHaveTheirOwnTags() throws Exception {
+        // Given: The ETag of the JSON list
+        taskRepository.save(testTask);
+        String json = mockMvc.perform(get("/api/tasks"))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: It does not answer for the Smile list, whose own tag does
+        String smile = mockMvc.perform(get("/api/tasks").accept(SMILE).header("If-None-Match", json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andExpect(header().string("ETag", not(json)))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/tasks").accept(SMILE).header("If-None-Match", smile))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", smile))
+                .andExpect(header().string("Vary", containsString("Accept")));
+    }
+
+    @Test
+    void testList_Smile() throws Exception {
+        // Given: Two tasks
+        taskRepository.save(testTask);
+        Task other = new Task();
+        other.setTitle("Other");
+        taskRepository.save(other);
+
+        // When: The list is requested as Smile
+        byte[] body = mockMvc.perform(get("/api/tasks").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then: Both tasks decode in id order
+        List<Task> tasks = Jackson2ObjectMapperBuilder.smile().build().readValue(body, new TypeReference<List<Task>>() {});
+        assertEquals(2, tasks.size());
+        assertEquals("Test Task", tasks.get(0).getTitle());
+        assertEquals("Other", tasks.get(1).getTitle());
+    }
+
+    @Test
+    void testCreateAndList_Protobuf() throws Exception {
+        // Given: A task encoded as a protobuf Task message
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(request);
+        TaskProtobufHttpMessageConverter.writeTask(out, testTask);
+        out.flush();
+
+        // When: It is created with protobuf in and out
+        byte[] created = mockMvc.perform(post("/api/tasks")
+                .contentType(TaskProtobufHttpMessageConverter.PROTOBUF)
+                .accept(TaskProtobufHttpMessageConverter.PROTOBUF)
+                .content(request.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(TaskProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then: The response follows the schema's field numbers
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(created);
+        assertEquals("Test Task", fields.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(LocalDate.of(2025, 12, 31).toEpochDay(),
+                CodedInputStream.decodeZigZag64(fields.getField(5).getVarintList().get(0)));
+        assertEquals(0L, fields.getField(6).getVarintList().get(0));
+
+        // And: The list decodes as a TaskList holding it
+        byte[] list = mockMvc.perform(get("/api/tasks").accept(TaskProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        List<Task> tasks = TaskProtobufHttpMessageConverter.readTaskList(CodedInputStream.newInstance(list));
+        assertEquals(1, tasks.size());
+        assertEquals("This is a test task", tasks.get(0).getDescription());
+        assertEquals(TaskStatus.TODO, tasks.get(0).getStatus());
+    }
+
+    @Test
+    void testCreate_InvalidProtobuf() throws Exception {
+        // When & Then: A body that is not a protobuf message is rejected
+        mockMvc.perform(post("/api/tasks")
+                .contentType(TaskProtobufHttpMessageConverter.PROTOBUF)
+                .content(new byte[] {(byte) 0x12, (byte) 0x05, 'a'}))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===================== COMPRESSION TESTS =====================
+    @Test
+    void testList_GzippedAboveThreshold() throws Exception {
+        // Given: Enough tasks for the list to exceed the 2 KB threshold
+        for (int i = 0; i < 50; i++) {
+            Task task = new Task();
+            task.setTitle("Compressible task " + i);
+            task.setDescription("The same description for every task, so the list compresses well");
+            taskRepository.save(task);
+        }
+
+        // When: The full list is requested by a client accepting gzip
+        MvcResult result = mockMvc.perform(get("/api/tasks").param("unpaged", "true")
+                .header("Accept-Encoding", "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("ETag", endsWith("-gzip\"")))
+                .andReturn();
+
+        // Then: The body inflates to all 50 tasks
+        byte[] body = result.getResponse().getContentAsByteArray();
+        String json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> titles = JsonPath.read(json, "$[*].title");
+        assertEquals(50, titles.size());
+        assertTrue(body.length < json.length() / 4);
+
+        // And: The compressed tag still validates the list
+        mockMvc.perform(get("/api/tasks").param("unpaged", "true")
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", result.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetById_SmallResponseNotCompressed() throws Exception {
+        // Given: A saved task
+        Task saved = taskRepository.save(testTask);
+
+        // When & Then: A single task stays below the threshold and is sent as is
+        mockMvc.perform(get("/api/tasks/" + saved.getId()).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("ETag", not(endsWith("-gzip\""))))
+                .andExpect(jsonPath("$.title", equalTo("Test Task")));
+    }
+
+    @Test
+    void testList_NotCompressedWithoutAcceptEncoding() throws Exception {
+        // Given: A list well above the threshold
+        for (int i = 0; i < 50; i++) {
+            Task task = new Task();
+            task.setTitle("Plain task " + i);
+            taskRepository.save(task);
+        }
+
+        // When & Then: A client that does not accept gzip gets plain JSON
+        mockMvc.perform(get("/api/tasks").param("unpaged", "true").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$", hasSize(50)));
     }
 
     // ===================== INTEGRATION TESTS =====================
@@ -0,0 +1,115 @@
+package com.example.taskmanager.jfr;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskStatus;
+import com.example.taskmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FlightRecorderTests {
+
+    private static final String REQUEST_EVENT = "com.example.taskmanager.TaskRequest";
+    private static final String REPOSITORY_EVENT = "com.example.taskmanager.TaskRepositoryCall";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    private List<RecordedEvent> record(Long id) throws Exception {
+        Path file = tempDir.resolve("tasks.jfr");
+        // Read the task from the database rather than the second-level cache.
+        entityManagerFactory.getCache().evictAll();
+        try (Recording recording = new Recording()) {
+            recording.enable(REQUEST_EVENT).withThreshold(Duration.ZERO);
+            recording.enable(REPOSITORY_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+            mockMvc.perform(get("/api/tasks/" + id)).andExpect(status().isOk());
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    // ===================== EVENT TESTS =====================
+    @Test
+    void testGetById_RecordsRequestAndRepositoryEvents() throws Exception {
+        // Given: A stored task
+        Task task = new Task();
+        task.setTitle("Recorded");
+        task.setStatus(TaskStatus.TODO);
+        Long id = taskRepository.save(task).getId();
+
+        // When: It is fetched while a recording runs
+        List<RecordedEvent> events = record(id);
+
+        // Then: The request event names the endpoint, task, status and its one SELECT
+        RecordedEvent request = events.stream()
+                .filter(e -> e.getEventType().getName().equals(REQUEST_EVENT))
+                .findFirst().orElseThrow();
+        assertEquals("GET /api/tasks/{id}", request.getString("endpoint"));
+        assertEquals(id.longValue(), request.getLong("taskId"));
+        assertEquals(200, request.getInt("status"));
+        assertEquals(1, request.getInt("sqlStatements"));
+
+        // And: The repository event shows the lookup inside it
+        RecordedEvent lookup = events.stream()
+                .filter(e -> e.getEventType().getName().equals(REPOSITORY_EVENT))
+                .findFirst().orElseThrow();
+        assertEquals("TaskRepository", lookup.getString("repository"));
+        assertEquals("findById", lookup.getString("method"));
+        assertEquals(id.longValue(), lookup.getLong("taskId"));
+        assertEquals(1L, lookup.getLong("rows"));
+        assertEquals(1, lookup.getInt("sqlStatements"));
+        assertFalse(lookup.getBoolean("failed"));
+        assertTrue(lookup.getStartTime().compareTo(request.getStartTime()) >= 0);
+    }
+
+    @Test
+    void testNoRecording_NoEventsWritten() throws Exception {
+        // Given: A stored task and no recording running
+        Task task = new Task();
+        task.setTitle("Unrecorded");
+        Long id = taskRepository.save(task).getId();
+
+        // When & Then: Requests work as usual and nothing leaks into a later recording
+        mockMvc.perform(get("/api/tasks/" + id)).andExpect(status().isOk());
+        List<RecordedEvent> events = record(id);
+        assertEquals(1, events.stream()
+                .filter(e -> e.getEventType().getName().equals(REQUEST_EVENT))
+                .count());
+    }
+}
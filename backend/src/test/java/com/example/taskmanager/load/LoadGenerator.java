@@ -0,0 +1,252 @@
+package com.example.taskmanager.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop HTTP load generator for the task API. Requests are issued on a fixed schedule
+ * regardless of how fast earlier ones complete, and each latency is measured from the time the
+ * request was <em>due</em> to be sent. A stalled server therefore shows up as queueing delay in
+ * the percentiles instead of silently lowering the request rate (coordinated omission).
+ */
+class LoadGenerator {
+
+    enum Operation {
+        CREATE, READ, UPDATE, DELETE, LIST
+    }
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SEED_CHUNK = 1000;
+
+    private final String baseUrl;
+    private final Map<Operation, Integer> mix;
+    private final int ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final List<Long> seededIds = new ArrayList<>();
+    // Tasks only deletes may touch, so reads and updates of seeded tasks never miss.
+    private final ConcurrentLinkedQueue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+
+    LoadGenerator(String baseUrl, Map<Operation, Integer> mix, int ratePerSecond, Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Builds a generator from system properties: {@code load.rate} (requests per second),
+     * {@code load.warmup} and {@code load.duration} (seconds) and {@code load.mix}, e.g.
+     * {@code create:10,read:50,update:20,delete:5,list:15}.
+     */
+    static LoadGenerator fromSystemProperties(String baseUrl) {
+        return new LoadGenerator(baseUrl,
+                parseMix(System.getProperty("load.mix", "create:10,read:50,update:20,delete:5,list:15")),
+                Integer.getInteger("load.rate", 500),
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 5)),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 30)));
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] weighted = part.trim().split(":");
+            mix.put(Operation.valueOf(weighted[0].trim().toUpperCase()), Integer.parseInt(weighted[1].trim()));
+        }
+        return mix;
+    }
+
+    Histogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).get();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * Creates {@code seedTasks} tasks for reads and updates to target, plus enough for the
+     * expected deletes, then drives the configured mix for warmup plus duration. Only requests
+     * due after the warmup are recorded.
+     */
+    void run(int seedTasks) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+            long expectedDeletes = (long) ratePerSecond * (warmup.toSeconds() + duration.toSeconds())
+                    * mix.getOrDefault(Operation.DELETE, 0) / totalWeight;
+            seededIds.addAll(seed(http, seedTasks));
+            deletableIds.addAll(seed(http, (int) (expectedDeletes * 12 / 10)));
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+            long start = System.nanoTime();
+            long recordFrom = start + warmup.toNanos();
+            long end = recordFrom + duration.toNanos();
+            List<CompletableFuture<?>> inFlight = new ArrayList<>();
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick(totalWeight);
+                boolean record = intended >= recordFrom;
+                inFlight.add(send(http, operation)
+                        .whenComplete((status, failure) -> {
+                            if (!record) {
+                                return;
+                            }
+                            histograms.get(operation).recordValue(
+                                    Math.min(System.nanoTime() - intended, MAX_TRACKABLE_NANOS));
+                            if (failure != null || status >= 400) {
+                                errors.get(operation).incrementAndGet();
+                            }
+                        }));
+                if (inFlight.size() >= 10_000) {
+                    inFlight.removeIf(CompletableFuture::isDone);
+                }
+            }
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(e -> null)
+                    .get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Writes a summary table to {@code out} and each endpoint's full percentile distribution, in
+     * HdrHistogram's .hgrm format, to {@code directory}.
+     */
+    void report(String title, PrintStream out, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        out.printf("%n%s: %d req/s for %ds%n", title, ratePerSecond, duration.toSeconds());
+        out.printf("%-8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : mix.keySet()) {
+            Histogram histogram = histograms.get(operation);
+            out.printf("%-8s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation, histogram.getTotalCount(),
+                    errors(operation), millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), histogram.getMaxValue() / 1e6);
+            try (PrintStream hgrm = new PrintStream(
+                    Files.newOutputStream(directory.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, 1e6);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    private Operation pick(int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    private CompletableFuture<Integer> send(HttpClient http, Operation operation) {
+        HttpRequest request;
+        switch (operation) {
+            case CREATE -> request = json(URI.create(baseUrl), "POST", taskJson("Load create"));
+            case READ -> request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomSeededId())).GET().build();
+            case UPDATE -> request = json(URI.create(baseUrl + "/" + randomSeededId()), "PUT", taskJson("Load update"));
+            case DELETE -> {
+                // The pool is sized for the run; if it does run dry the 404 shows up as an error.
+                Long id = deletableIds.poll();
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + (id == null ? 0 : id))).DELETE().build();
+            }
+            case LIST -> request = HttpRequest.newBuilder(URI.create(baseUrl + "?limit=100")).GET().build();
+            default -> throw new IllegalArgumentException(operation.name());
+        }
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    // Creates tasks through the batch endpoint, at most SEED_CHUNK per request.
+    private Set<Long> seed(HttpClient http, int count) throws Exception {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int from = 0; from < count; from += SEED_CHUNK) {
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = from; i < Math.min(count, from + SEED_CHUNK); i++) {
+                batch.append(i > from ? "," : "")
+                        .append("{\"op\":\"CREATE\",\"task\":").append(taskJson("Seed " + i)).append("}");
+            }
+            batch.append("]");
+            HttpResponse<String> response = http.send(json(URI.create(baseUrl + "/batch"), "POST", batch.toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode());
+            }
+            // Each result carries the id twice (result and task); the set keeps one.
+            Matcher id = ID.matcher(response.body());
+            while (id.find()) {
+                ids.add(Long.parseLong(id.group(1)));
+            }
+        }
+        return ids;
+    }
+
+    private long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private static HttpRequest json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String taskJson(String title) {
+        return "{\"title\":\"" + title + "\",\"status\":\"TODO\",\"dueDate\":\"2026-06-01\"}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.taskmanager.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the running application at a fixed arrival rate and reports p50 to p99.9 per endpoint,
+ * with full distributions in target/load-report/*.hgrm. Excluded from the default build; run with
+ * {@code mvn test -Pload-tests -Dtest=LoadHarnessTests} and tune with {@code -Dload.rate},
+ * {@code -Dload.duration}, {@code -Dload.warmup}, {@code -Dload.mix} and {@code -Dload.tasks}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.root=WARN", "spring.datasource.url=jdbc:h2:mem:load-harness;DB_CLOSE_DELAY=-1"})
+class LoadHarnessTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void reportLatencyPerEndpoint() throws Exception {
+        // Given: A generator configured from system properties
+        LoadGenerator generator = LoadGenerator.fromSystemProperties("http://localhost:" + port + "/api/tasks");
+
+        // When: Run the mix at the configured rate
+        generator.run(Integer.getInteger("load.tasks", 1000));
+
+        // Then: Report the distributions; every request must have succeeded
+        generator.report("Task API", System.out, Path.of("target", "load-report"));
+        assertEquals(0, generator.totalErrors(), "failed requests");
+    }
+}
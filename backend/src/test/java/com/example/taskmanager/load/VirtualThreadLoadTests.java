@@ -0,0 +1,50 @@
+package com.example.taskmanager.load;
+
+import com.example.taskmanager.TaskManagerApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares request latency with Tomcat's platform thread pool against the virtual-threads
+ * profile under the same open-loop load (see {@link LoadGenerator}). Excluded from the default
+ * build; run with {@code mvn test -Pload-tests -Dtest=VirtualThreadLoadTests}. Takes the same
+ * {@code load.*} properties as {@link LoadHarnessTests}.
+ */
+@Tag("load")
+class VirtualThreadLoadTests {
+
+    @Test
+    void compareP99_PlatformVsVirtualThreads() throws Exception {
+        // Given: The same workload against each execution mode, each on its own database
+        LoadGenerator platform = run("platform");
+        LoadGenerator virtual = run("virtual-threads");
+
+        // Then: Report both distributions; every request must have succeeded
+        platform.report("platform threads", System.out, Path.of("target", "load-report", "platform"));
+        virtual.report("virtual threads", System.out, Path.of("target", "load-report", "virtual-threads"));
+        assertEquals(0, platform.totalErrors(), "platform mode errors");
+        assertEquals(0, virtual.totalErrors(), "virtual-threads mode errors");
+    }
+
+    private LoadGenerator run(String mode) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN");
+        if (mode.equals("virtual-threads")) {
+            builder.profiles("virtual-threads");
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+            LoadGenerator generator = LoadGenerator.fromSystemProperties(base);
+            generator.run(Integer.getInteger("load.tasks", 1000));
+            return generator;
+        }
+    }
+}
@@ -1,24 +1,44 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.config.SecondLevelCacheConfig;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import javax.cache.CacheManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+// The slice leaves out the application's configuration; without this, Hibernate would create an
+// unbounded tasks region of its own.
+@Import(SecondLevelCacheConfig.class)
 class TaskRepositoryTests {
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+
     private Task testTask;
 
     @BeforeEach
@@ -112,6 +132,29 @@ class TaskRepositoryTests {
         assertEquals(1, all.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count());
     }
 
+    @Test
+    void testSaveAll_InsertsAreBatched() {
+        // Given: Ten thousand new tasks and fresh Hibernate statistics
+        Statistics statistics = statistics();
+        statistics.clear();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Task task = new Task();
+            task.setTitle("Bulk " + i);
+            tasks.add(task);
+        }
+
+        // When: Save and flush them
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+
+        // Then: Every row is inserted, but statements are prepared once per JDBC batch and per
+        // sequence block rather than once per row
+        assertEquals(10_000, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 1_000,
+                "expected batched statements, got " + statistics.getPrepareStatementCount());
+    }
+
     // ===================== FIND BY ID TESTS =====================
     @Test
     void testFindById_Success() {
@@ -208,6 +251,129 @@ class TaskRepositoryTests {
         assertTrue(all.stream().anyMatch(t -> "Task 3".equals(t.getTitle())));
     }
 
+    // ===================== KEYSET PAGE TESTS =====================
+    @Test
+    void testFindByIdGreaterThan_ReturnsNextPageInIdOrder() {
+        // Given: Three saved tasks
+        Task task1 = taskRepository.save(testTask);
+        Task task2 = new Task();
+        task2.setTitle("Task 2");
+        taskRepository.save(task2);
+        Task task3 = new Task();
+        task3.setTitle("Task 3");
+        taskRepository.save(task3);
+
+        // When: Ask for at most two tasks after the first one
+        List<Task> page = taskRepository.findByIdGreaterThanOrderByIdAsc(task1.getId(), Limit.of(2));
+
+        // Then: The two following tasks are returned in id order
+        assertEquals(2, page.size());
+        assertEquals("Task 2", page.get(0).getTitle());
+        assertEquals("Task 3", page.get(1).getTitle());
+    }
+
+    @Test
+    void testFindByIdGreaterThan_AfterLastId() {
+        // Given: A saved task
+        Task saved = taskRepository.save(testTask);
+
+        // When: Ask for tasks after the last id
+        List<Task> page = taskRepository.findByIdGreaterThanOrderByIdAsc(saved.getId(), Limit.of(10));
+
+        // Then: Page is empty
+        assertTrue(page.isEmpty());
+    }
+
+    // ===================== CHANGE SEQUENCE TESTS =====================
+    @Test
+    void testFindByChangeSeq_ReturnsWindowInSequenceOrder() {
+        // Given: Tasks written at change sequences 30, 10 and 20, plus one never tracked
+        for (long seq : new long[] {30L, 10L, 20L}) {
+            Task task = new Task();
+            task.setTitle("Seq " + seq);
+            task.setChangeSeq(seq);
+            taskRepository.save(task);
+        }
+        taskRepository.save(testTask);
+
+        // When: Ask for changes after 10 up to 30
+        List<Task> changes = taskRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                10L, 30L, Limit.of(10));
+
+        // Then: Only 20 and 30 are returned, oldest first
+        assertEquals(2, changes.size());
+        assertEquals("Seq 20", changes.get(0).getTitle());
+        assertEquals("Seq 30", changes.get(1).getTitle());
+    }
+
+    // ===================== SPECIFICATION TESTS =====================
+    @Test
+    void testFindWindow_FilteredAndSorted() {
+        // Given: TODO tasks with different due dates and one DONE task
+        Task late = new Task();
+        late.setTitle("Late");
+        late.setDueDate(LocalDate.of(2025, 12, 1));
+        taskRepository.save(late);
+
+        Task early = new Task();
+        early.setTitle("Early");
+        early.setDueDate(LocalDate.of(2025, 1, 1));
+        taskRepository.save(early);
+
+        Task done = new Task();
+        done.setTitle("Done");
+        done.setStatus(TaskStatus.DONE);
+        done.setDueDate(LocalDate.of(2025, 6, 1));
+        taskRepository.save(done);
+
+        // When: Find TODO tasks ordered by due date
+        List<Task> window = taskRepository.findWindow(
+                TaskSpecifications.hasStatus(TaskStatus.TODO), Sort.by("dueDate", "id"), 10);
+
+        // Then: Only TODO tasks are returned, earliest first
+        assertEquals(2, window.size());
+        assertEquals("Early", window.get(0).getTitle());
+        assertEquals("Late", window.get(1).getTitle());
+    }
+
+    @Test
+    void testFindWindow_RespectsMaxResults() {
+        // Given: Three saved tasks
+        taskRepository.save(testTask);
+        Task task2 = new Task();
+        task2.setTitle("Task 2");
+        taskRepository.save(task2);
+        Task task3 = new Task();
+        task3.setTitle("Task 3");
+        taskRepository.save(task3);
+
+        // When: Ask for a window of two without any filter
+        List<Task> window = taskRepository.findWindow(null, Sort.by("id"), 2);
+
+        // Then: Only two tasks are returned
+        assertEquals(2, window.size());
+    }
+
+    @Test
+    void testFindWindow_DueDateKeyAfter() {
+        // Given: Two tasks sharing a due date
+        LocalDate due = LocalDate.of(2025, 3, 1);
+        testTask.setDueDate(due);
+        Task first = taskRepository.save(testTask);
+        Task second = new Task();
+        second.setTitle("Second");
+        second.setDueDate(due);
+        taskRepository.save(second);
+
+        // When: Seek past the first task's (dueDate, id) key
+        List<Task> window = taskRepository.findWindow(
+                TaskSpecifications.dueDateKeyAfter(due, first.getId()), Sort.by("dueDate", "id"), 10);
+
+        // Then: Only the second task follows
+        assertEquals(1, window.size());
+        assertEquals("Second", window.get(0).getTitle());
+    }
+
     // ===================== UPDATE TESTS =====================
     @Test
     void testUpdate_Success() {
@@ -263,6 +429,56 @@ class TaskRepositoryTests {
         assertNull(retrieved.getDueDate());
     }
 
+    @Test
+    void testUpdateTaskById_SingleStatement() {
+        // Given: A saved and flushed task, and fresh statistics
+        Task saved = taskRepository.saveAndFlush(testTask);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When: Update it by id
+        Task values = new Task();
+        values.setTitle("Bulk Title");
+        values.setStatus(TaskStatus.DONE);
+        values.setDueDate(LocalDate.of(2026, 2, 1));
+        int updated = taskRepository.updateTaskById(saved.getId(), 0L, values, 42L);
+
+        // Then: One row changed with one statement, and the new values are stored
+        assertEquals(1, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Task retrieved = taskRepository.findById(saved.getId()).get();
+        assertEquals("Bulk Title", retrieved.getTitle());
+        assertNull(retrieved.getDescription());
+        assertEquals(TaskStatus.DONE, retrieved.getStatus());
+        assertEquals(LocalDate.of(2026, 2, 1), retrieved.getDueDate());
+        assertEquals(1L, retrieved.getVersion());
+        assertEquals(42L, retrieved.getChangeSeq());
+    }
+
+    @Test
+    void testUpdateTaskById_NonExistent() {
+        // When: Update a task that does not exist
+        int updated = taskRepository.updateTaskById(999L, 0L, testTask, 1L);
+
+        // Then: No row is affected
+        assertEquals(0, updated);
+    }
+
+    @Test
+    void testUpdateTaskById_VersionMismatch() {
+        // Given: A saved task at version 0
+        Task saved = taskRepository.saveAndFlush(testTask);
+        Task values = new Task();
+        values.setTitle("Stale");
+
+        // When: Update it expecting a version it does not have
+        int updated = taskRepository.updateTaskById(saved.getId(), 5L, values, 1L);
+
+        // Then: No row is affected
+        assertEquals(0, updated);
+        assertEquals("Test Task", taskRepository.findById(saved.getId()).get().getTitle());
+    }
+
     // ===================== DELETE TESTS =====================
     @Test
     void testDeleteById_Success() {
@@ -321,6 +537,34 @@ class TaskRepositoryTests {
         assertTrue(taskRepository.findAll().isEmpty());
     }
 
+    @Test
+    void testDeleteTaskById_SingleStatement() {
+        // Given: A saved and flushed task, and fresh statistics
+        Task saved = taskRepository.saveAndFlush(testTask);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When: Delete it by id
+        int deleted = taskRepository.deleteTaskById(saved.getId(), null);
+
+        // Then: One row removed with one statement
+        assertEquals(1, deleted);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(taskRepository.existsById(saved.getId()));
+    }
+
+    @Test
+    void testDeleteTaskById_VersionMismatch() {
+        // Given: A saved task at version 0
+        Task saved = taskRepository.saveAndFlush(testTask);
+
+        // When & Then: Deleting another version removes nothing, deleting version 0 removes it
+        assertEquals(0, taskRepository.deleteTaskById(saved.getId(), 1L));
+        assertTrue(taskRepository.existsById(saved.getId()));
+        assertEquals(1, taskRepository.deleteTaskById(saved.getId(), 0L));
+        assertEquals(0, taskRepository.deleteTaskById(999L, null));
+    }
+
     // ===================== COUNT AND EXISTS TESTS =====================
     @Test
     void testCount() {
@@ -360,6 +604,57 @@ class TaskRepositoryTests {
         assertFalse(exists);
     }
 
+    @Test
+    void testCountByStatus_GroupsAndCountsDueBefore() {
+        // Given: Tasks in every status, some due before the reference date
+        LocalDate today = LocalDate.of(2026, 3, 10);
+        String[][] rows = {
+                {"TODO", "2026-03-01"}, {"TODO", "2026-03-20"}, {"TODO", null},
+                {"IN_PROGRESS", "2026-03-09"}, {"DONE", "2026-01-01"}
+        };
+        for (String[] row : rows) {
+            Task task = new Task();
+            task.setTitle("Task " + row[0]);
+            task.setStatus(TaskStatus.valueOf(row[0]));
+            task.setDueDate(row[1] == null ? null : LocalDate.parse(row[1]));
+            taskRepository.save(task);
+        }
+
+        // When: Count per status
+        List<TaskRepository.StatusCount> counts = taskRepository.countByStatus(today);
+
+        // Then: One row per status with its total and the tasks due before today
+        assertEquals(3, counts.size());
+        for (TaskRepository.StatusCount count : counts) {
+            switch (count.getStatus()) {
+                case TODO -> {
+                    assertEquals(3L, count.getTotal());
+                    assertEquals(1L, count.getDueBefore());
+                }
+                case IN_PROGRESS -> {
+                    assertEquals(1L, count.getTotal());
+                    assertEquals(1L, count.getDueBefore());
+                }
+                case DONE -> {
+                    assertEquals(1L, count.getTotal());
+                    assertEquals(1L, count.getDueBefore());
+                }
+            }
+        }
+    }
+
+    // ===================== SECOND-LEVEL CACHE TESTS =====================
+    @Test
+    // Committed, as the cache only takes the task once its insert has committed.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testSave_CachedInBoundedRegion() {
+        // When: A task is saved
+        taskRepository.save(testTask);
+
+        // Then: It is held in the application's bounded tasks cache
+        assertTrue(secondLevelCacheManager.getCache("tasks").iterator().hasNext());
+    }
+
     // ===================== EDGE CASES =====================
     @Test
     void testSaveTask_MaxLength_Title() {
@@ -420,4 +715,8 @@ class TaskRepositoryTests {
         List<Task> all = taskRepository.findAll();
         assertTrue(all.stream().allMatch(t -> t.getId() != null));
     }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+    private SimpleMeterRegistry registry;
+    private SingleFlight<String, Object> flight;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        flight = new SingleFlight<>("test", registry);
+    }
+
+    private double count(String name) {
+        return registry.get(name).tag("name", "test").counter().count();
+    }
+
+    private void awaitCount(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(name) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, count(name));
+    }
+
+    // ===================== COALESCING TESTS =====================
+    @Test
+    void testConcurrentLoads_ShareOneLoad() throws Exception {
+        // Given: A load of key "a" that is still running
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loaderRuns = new AtomicInteger();
+        Object result = new Object();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> callers = new ArrayList<>();
+            callers.add(executor.submit(() -> flight.load("a", () -> {
+                loaderRuns.incrementAndGet();
+                started.countDown();
+                await(release);
+                return result;
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When: Nine more callers ask for the same key before it finishes
+            for (int i = 0; i < 9; i++) {
+                callers.add(executor.submit(() -> flight.load("a", () -> {
+                    loaderRuns.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            awaitCount("taskmanager.singleflight.collapsed", 9);
+            release.countDown();
+
+            // Then: The loader ran once and every caller got its result
+            for (Future<Object> caller : callers) {
+                assertSame(result, caller.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loaderRuns.get());
+        assertEquals(1, count("taskmanager.singleflight.loads"));
+    }
+
+    @Test
+    void testFailure_SharedAndNotRetained() throws Exception {
+        // Given: A running load that is about to fail
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = executor.submit(() -> flight.load("a", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Object> follower = executor.submit(() -> flight.load("a", Object::new));
+            awaitCount("taskmanager.singleflight.collapsed", 1);
+
+            // When: The load fails
+            release.countDown();
+
+            // Then: Both callers see the failure
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertTrue(leaderFailure.getCause() instanceof IllegalStateException);
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+        }
+
+        // And: The next call loads again
+        assertEquals("fresh", flight.load("a", () -> "fresh"));
+        assertEquals(2, count("taskmanager.singleflight.loads"));
+    }
+
+    @Test
+    void testDifferentKeys_LoadIndependently() {
+        // When & Then: Sequential and distinct keys are never collapsed
+        assertEquals("a", flight.load("a", () -> "a"));
+        assertEquals("b", flight.load("b", () -> "b"));
+        assertEquals("a2", flight.load("a", () -> "a2"));
+        assertEquals(3, count("taskmanager.singleflight.loads"));
+        assertEquals(0, count("taskmanager.singleflight.collapsed"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
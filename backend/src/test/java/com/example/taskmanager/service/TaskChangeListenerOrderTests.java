@@ -0,0 +1,81 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TaskChangeListenerOrderTests.Recorder.class)
+class TaskChangeListenerOrderTests {
+
+    /**
+     * Listens between cache invalidation and the tag advance, and records what a concurrent
+     * read would see at that moment.
+     */
+    static class Recorder {
+
+        private final TaskJsonCache jsonCache;
+        private final TaskChangeTracker changeTracker;
+        private volatile TaskJsonCache.Entry cachedEntry;
+        private volatile String tag;
+
+        Recorder(TaskJsonCache jsonCache, TaskChangeTracker changeTracker) {
+            this.jsonCache = jsonCache;
+            this.changeTracker = changeTracker;
+        }
+
+        @TransactionalEventListener(fallbackExecution = true)
+        @Order((TaskChangedEvent.INVALIDATE_ORDER + TaskChangedEvent.ADVANCE_TAG_ORDER) / 2)
+        public void onTaskChanged(TaskChangedEvent event) {
+            cachedEntry = jsonCache.get(event.getTaskId());
+            tag = changeTracker.currentTag();
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskJsonCache jsonCache;
+
+    @Autowired
+    private TaskChangeTracker changeTracker;
+
+    @Autowired
+    private Recorder recorder;
+
+    // ===================== ORDER TESTS =====================
+    @Test
+    void testUpdate_CacheInvalidatedBeforeTagAdvances() {
+        // Given: A task whose JSON is cached
+        Task task = new Task();
+        task.setTitle("Cached");
+        Task saved = taskRepository.save(task);
+        jsonCache.put(taskRepository.findById(saved.getId()).get());
+        assertNotNull(jsonCache.get(saved.getId()));
+        String tagBefore = changeTracker.currentTag();
+
+        // When: The task is updated
+        Task incoming = new Task();
+        incoming.setTitle("Changed");
+        taskService.update(saved.getId(), null, incoming);
+
+        // Then: By the time the tag could move, the stale JSON was already gone
+        assertNull(recorder.cachedEntry);
+        assertEquals(tagBefore, recorder.tag);
+
+        // And: The tag moved afterwards
+        assertNotEquals(tagBefore, changeTracker.currentTag());
+    }
+}
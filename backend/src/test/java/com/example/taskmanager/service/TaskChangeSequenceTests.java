@@ -0,0 +1,130 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskChangeSequenceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskChangeSequence sequence;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        sequence = new TaskChangeSequence(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    /**
+     * A transaction of its own on a dedicated thread, as transaction synchronizations are
+     * bound to the thread that opened them.
+     */
+    private static final class OpenTransaction implements AutoCloseable {
+
+        private final ExecutorService thread = Executors.newSingleThreadExecutor();
+
+        OpenTransaction() throws Exception {
+            run(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                return null;
+            });
+        }
+
+        long next(TaskChangeSequence sequence) throws Exception {
+            return run(sequence::next);
+        }
+
+        void commit() throws Exception {
+            run(() -> {
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                        TransactionSynchronization.STATUS_COMMITTED);
+                return null;
+            });
+        }
+
+        private <T> T run(Callable<T> action) throws Exception {
+            return thread.submit(action).get();
+        }
+
+        @Override
+        public void close() {
+            thread.shutdownNow();
+        }
+    }
+
+    // ===================== VISIBILITY TESTS =====================
+    @Test
+    void testVisibleUpTo_IdleIsHighestAllocated() throws Exception {
+        // Given: A write that has committed
+        long value;
+        try (OpenTransaction tx = new OpenTransaction()) {
+            value = tx.next(sequence);
+            tx.commit();
+        }
+
+        // When & Then: With nothing in flight the bound is that value, not unbounded
+        assertEquals(value, sequence.visibleUpTo());
+    }
+
+    @Test
+    void testVisibleUpTo_InterleavedWriters() throws Exception {
+        try (OpenTransaction a = new OpenTransaction(); OpenTransaction b = new OpenTransaction()) {
+            // Given: A reader takes its bound while nothing is in flight
+            long readerBound = sequence.visibleUpTo();
+
+            // When: A allocates, then B allocates and commits before the reader's query runs
+            long v1 = a.next(sequence);
+            long v2 = b.next(sequence);
+            b.commit();
+
+            // Then: The reader's bound excludes both, so its cursor can't move past A's value
+            assertTrue(readerBound < v1);
+            assertTrue(v1 < v2);
+
+            // And: A later reader stops right below A while it is open
+            assertEquals(v1 - 1, sequence.visibleUpTo());
+
+            // And: Once A commits, both are visible
+            a.commit();
+            assertEquals(v2, sequence.visibleUpTo());
+        }
+    }
+
+    @Test
+    void testVisibleUpTo_EarlierRunsStayVisibleAfterRestart() throws Exception {
+        // Given: Values handed out and committed by a previous instance
+        long previous;
+        try (OpenTransaction tx = new OpenTransaction()) {
+            previous = tx.next(sequence);
+            tx.commit();
+        }
+
+        // When: A new instance starts on the same database
+        TaskChangeSequence restarted = new TaskChangeSequence(jdbcTemplate);
+
+        // Then: Its bound already covers them, before it allocates anything
+        assertTrue(restarted.visibleUpTo() >= previous);
+    }
+}
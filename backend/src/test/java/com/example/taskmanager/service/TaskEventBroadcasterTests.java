@@ -0,0 +1,113 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskEventBroadcasterTests {
+
+    private TaskEventBroadcaster broadcaster;
+    private final CountDownLatch unstall = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), 16,
+                TaskEventBroadcaster.OverflowPolicy.DISCONNECT, 60_000, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        unstall.countDown();
+        broadcaster.shutdown();
+    }
+
+    /**
+     * An emitter whose sends block, like a client that stopped reading while its socket buffer
+     * is full.
+     */
+    private final class StalledEmitter extends SseEmitter {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile String threadName;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            threadName = Thread.currentThread().getName();
+            entered.countDown();
+            try {
+                unstall.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+
+    private static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        return task;
+    }
+
+    // ===================== SLOW CLIENT TESTS =====================
+    @Test
+    void testStalledClientsDoNotDelayOthers() throws Exception {
+        // Given: Two clients whose sockets stall, subscribed before a healthy one
+        StalledEmitter first = new StalledEmitter();
+        StalledEmitter second = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        broadcaster.subscribe(first);
+        broadcaster.subscribe(second);
+        broadcaster.subscribe(healthy);
+
+        // When: A change is published
+        broadcaster.onTaskChanged(TaskChangedEvent.created(task(1)));
+
+        // Then: Both stalled sends are in progress and the healthy client still gets the event
+        assertTrue(first.entered.await(5, TimeUnit.SECONDS));
+        assertTrue(second.entered.await(5, TimeUnit.SECONDS));
+        assertTrue(healthy.received.await(5, TimeUnit.SECONDS));
+
+        // And: Each subscriber is drained by a thread of its own, named after it
+        assertNotEquals(first.threadName, second.threadName);
+        assertTrue(first.threadName.startsWith("task-events-"), first.threadName);
+        assertTrue(second.threadName.startsWith("task-events-"), second.threadName);
+    }
+
+    @Test
+    void testStalledClientDisconnectedWhenQueueFills() throws Exception {
+        // Given: A stalled client blocked on its first event
+        StalledEmitter stalled = new StalledEmitter();
+        broadcaster.subscribe(stalled);
+        broadcaster.onTaskChanged(TaskChangedEvent.created(task(1)));
+        assertTrue(stalled.entered.await(5, TimeUnit.SECONDS));
+
+        // When: More changes arrive than its queue holds
+        for (long id = 2; id <= 20; id++) {
+            broadcaster.onTaskChanged(TaskChangedEvent.created(task(id)));
+        }
+
+        // Then: It is dropped rather than buffered without bound
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+}
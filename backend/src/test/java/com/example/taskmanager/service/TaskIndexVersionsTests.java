@@ -0,0 +1,104 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskIndexVersionsTests {
+
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private final AtomicLong now = new AtomicLong();
+    private TaskIndexVersions<String> versions;
+    private List<String> changes;
+
+    @BeforeEach
+    void setUp() {
+        versions = new TaskIndexVersions<>(now::get, WINDOW);
+        changes = new ArrayList<>();
+    }
+
+    private void apply(long id, long version, String state) {
+        versions.apply(id, version, state, (previous, next) -> changes.add(previous + "->" + next));
+    }
+
+    private void delete(long id) {
+        versions.delete(id, previous -> changes.add(previous + "->deleted"));
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    // ===================== VERSION TESTS =====================
+    @Test
+    void testApply_SkipsOlderVersions() {
+        // Given: A task held at version 1
+        apply(1, 0, "a");
+        apply(1, 1, "b");
+
+        // When: Its version 0 arrives again
+        apply(1, 0, "a");
+
+        // Then: Only the two newer states were applied
+        assertEquals(List.of("null->a", "a->b"), changes);
+    }
+
+    @Test
+    void testDelete_LateEventDoesNotRestoreTask() {
+        // Given: A deleted task
+        apply(1, 3, "a");
+        delete(1);
+
+        // When: An event for an earlier state arrives within the window
+        advance(WINDOW.dividedBy(2));
+        apply(1, 3, "a");
+
+        // Then: It is skipped
+        assertEquals(List.of("null->a", "a->deleted"), changes);
+    }
+
+    // ===================== MARKER PRUNING TESTS =====================
+    @Test
+    void testDelete_MarkerDroppedAfterWindow() {
+        // Given: Two tasks, one of them deleted
+        apply(1, 0, "a");
+        apply(2, 0, "b");
+        delete(1);
+        assertEquals(2, versions.size());
+
+        // When: The window passes and another write comes in
+        advance(WINDOW.plusNanos(1));
+        apply(2, 1, "c");
+
+        // Then: Only the live task is still held
+        assertEquals(1, versions.size());
+    }
+
+    @Test
+    void testDelete_MarkerKeptWhileRebuildRuns() {
+        // Given: A task deleted while a rebuild runs
+        versions.rebuildStarted();
+        apply(1, 0, "a");
+        delete(1);
+
+        // When: The window passes with the rebuild still running, and it reads the old row
+        advance(WINDOW.plusNanos(1));
+        apply(1, 0, "a");
+
+        // Then: The marker still skips it
+        assertEquals(List.of("null->a", "a->deleted"), changes);
+        assertEquals(1, versions.size());
+
+        // And: Once the rebuild finishes, the next write drops the marker
+        versions.rebuildFinished();
+        apply(2, 0, "b");
+        assertEquals(1, versions.size());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskTitleSuggesterTests {
+
+    private TaskTitleSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        // Filled through events only; the startup rebuild is not run.
+        suggester = new TaskTitleSuggester(null);
+    }
+
+    private void created(long id, String title) {
+        suggester.onTaskChanged(TaskChangedEvent.created(task(id, title)));
+    }
+
+    private static Task task(long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+
+    private static Task task(long id, long version, String title) {
+        Task task = task(id, title);
+        task.setVersion(version);
+        return task;
+    }
+
+    // ===================== PREFIX TESTS =====================
+    @Test
+    void testSuggest_MatchesStartIgnoringCase() {
+        // Given: Titles sharing prefixes of different lengths
+        created(1, "Write report");
+        created(2, "Write tests");
+        created(3, "Wrap up sprint");
+        created(4, "Review PR");
+
+        // When & Then: Matches start with the prefix, in alphabetical order at equal counts
+        assertEquals(List.of("Wrap up sprint", "Write report", "Write tests"), suggester.suggest("wr", 10));
+        assertEquals(List.of("Write report", "Write tests"), suggester.suggest("WRITE ", 10));
+        assertEquals(List.of("Write tests"), suggester.suggest("write  t", 10));
+        assertEquals(List.of(), suggester.suggest("writes", 10));
+        assertEquals(List.of(), suggester.suggest("x", 10));
+    }
+
+    @Test
+    void testSuggest_PrefixEndingInsideAnEdge() {
+        // Given: A single long title, stored as one edge
+        created(1, "Quarterly planning");
+
+        // When & Then: Any prefix of it matches, a longer or diverging one does not
+        assertEquals(List.of("Quarterly planning"), suggester.suggest("quart", 10));
+        assertEquals(List.of("Quarterly planning"), suggester.suggest("quarterly planning", 10));
+        assertEquals(List.of(), suggester.suggest("quarterly plans", 10));
+    }
+
+    // ===================== RANKING TESTS =====================
+    @Test
+    void testSuggest_SharedTitlesRankFirstAndRespectLimit() {
+        // Given: "Standup" used by three tasks, "Status update" by two, "Stand back" by one
+        created(1, "Stand back");
+        created(2, "Standup");
+        created(3, "standup");
+        created(4, "Standup ");
+        created(5, "Status update");
+        created(6, "Status update");
+
+        // When & Then: The most used titles come first, each in its most used spelling
+        assertEquals(List.of("Standup", "Status update", "Stand back"), suggester.suggest("sta", 10));
+        assertEquals(List.of("Standup", "Status update"), suggester.suggest("", 2));
+    }
+
+    // ===================== SPELLING TESTS =====================
+    @Test
+    void testSuggest_ShowsMostUsedSpelling() {
+        // Given: Two tasks spelling a title one way, then one spelling it another
+        created(1, "Standup");
+        created(2, "Standup");
+        created(3, "STANDUP");
+
+        // When & Then: The spelling most tasks use is shown
+        assertEquals(List.of("Standup"), suggester.suggest("stand", 10));
+
+        // And: On a tie, the most recently written spelling is shown
+        suggester.onTaskChanged(TaskChangedEvent.deleted(1L));
+        assertEquals(List.of("STANDUP"), suggester.suggest("stand", 10));
+    }
+
+    @Test
+    void testSuggest_SpellingGoneWithItsLastTask() {
+        // Given: A title spelled two ways, the later one by a single task
+        created(1, "Code review");
+        created(2, "code Review");
+
+        // When: That task is renamed
+        suggester.onTaskChanged(TaskChangedEvent.updated(task(2, 1, "Lunch")));
+
+        // Then: Only the spelling still in use is shown
+        assertEquals(List.of("Code review"), suggester.suggest("code", 10));
+
+        // And: Once its last task is deleted, a new task's spelling replaces it
+        suggester.onTaskChanged(TaskChangedEvent.deleted(1L));
+        created(3, "CODE REVIEW");
+        assertEquals(List.of("CODE REVIEW"), suggester.suggest("code", 10));
+    }
+
+    // ===================== UPDATE AND DELETE TESTS =====================
+    @Test
+    void testSuggest_FollowsRenamesAndDeletes() {
+        // Given: Two tasks with the same title and one with a longer one
+        created(1, "Deploy");
+        created(2, "Deploy");
+        created(3, "Deploy backend");
+
+        // When: One is renamed and the other deleted
+        suggester.onTaskChanged(TaskChangedEvent.updated(task(1, "Debug login")));
+        suggester.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        // Then: "Deploy" is gone, its longer sibling and the new title remain
+        assertEquals(List.of("Debug login", "Deploy backend"), suggester.suggest("de", 10));
+        assertEquals(List.of("Deploy backend"), suggester.suggest("deploy", 10));
+
+        // And: Deleting the rest leaves nothing behind
+        suggester.onTaskChanged(TaskChangedEvent.deleted(1L));
+        suggester.onTaskChanged(TaskChangedEvent.deleted(3L));
+        assertEquals(List.of(), suggester.suggest("", 10));
+    }
+
+    @Test
+    void testSuggest_RankDropsWhenSharedTitleIsRemoved() {
+        // Given: "Alpha" used twice, "Alpine" once
+        created(1, "Alpha");
+        created(2, "Alpha");
+        created(3, "Alpine");
+
+        // When: One "Alpha" is deleted
+        suggester.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        // Then: Both are tied again and sort alphabetically
+        assertEquals(List.of("Alpha", "Alpine"), suggester.suggest("al", 10));
+        suggester.onTaskChanged(TaskChangedEvent.deleted(2L));
+        assertEquals(List.of("Alpine"), suggester.suggest("al", 1));
+    }
+
+    @Test
+    void testSuggest_LateEventsDoNotRestoreOlderTitles() {
+        // Given: A task renamed to version 1, and a deleted one
+        suggester.onTaskChanged(TaskChangedEvent.created(task(1, 0, "Draft agenda")));
+        suggester.onTaskChanged(TaskChangedEvent.updated(task(1, 1, "Final agenda")));
+        suggester.onTaskChanged(TaskChangedEvent.created(task(2, 0, "Fix build")));
+        suggester.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        // When: Events for their earlier states arrive late
+        suggester.onTaskChanged(TaskChangedEvent.created(task(1, 0, "Draft agenda")));
+        suggester.onTaskChanged(TaskChangedEvent.updated(task(2, 0, "Fix build")));
+
+        // Then: Only the newest states are suggested
+        assertEquals(List.of("Final agenda"), suggester.suggest("", 10));
+    }
+}
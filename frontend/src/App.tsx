@@ -1,4 +1,4 @@
-import React, { useEffect, useState, useCallback } from 'react'
+import React, { useEffect, useState, useCallback, useRef } from 'react'
 import axios from 'axios'
 import TaskForm from './components/TaskForm'
 import TaskList from './components/TaskList'
@@ -17,19 +17,43 @@ export interface Task {
 
 const API_BASE = (import.meta as any).env?.VITE_API_BASE || 'http://localhost:8080/api'
 
+// The task list is paged; the server advertises the next page in a Link header.
+function nextPageUrl(link?: string): string | null {
+  const match = link?.match(/<([^>]+)>;\s*rel="next"/)
+  return match ? match[1] : null
+}
+
+// Replaces the task with the same id, or appends it if it is new.
+function upsertTask(tasks: Task[], task: Task): Task[] {
+  const index = tasks.findIndex(t => t.id === task.id)
+  if (index < 0) return [...tasks, task]
+  const next = [...tasks]
+  next[index] = task
+  return next
+}
+
 export default function App() {
   const [tasks, setTasks] = useState<Task[]>([])
   const [editingId, setEditingId] = useState<number | null>(null)
   const [error, setError] = useState<string | null>(null)
   const [sortBy, setSortBy] = useState<SortBy>('none')
   const [isLoading, setIsLoading] = useState(false)
+  // True while the server's event stream is connected; changes then arrive without refetching.
+  const [live, setLive] = useState(false)
+  const connectedBefore = useRef(false)
 
   const load = useCallback(async () => {
     setIsLoading(true)
     setError(null)
     try {
-      const res = await axios.get<Task[]>(`${API_BASE}/tasks`)
-      setTasks(res.data || [])
+      const loaded: Task[] = []
+      let url: string | null = `${API_BASE}/tasks`
+      while (url) {
+        const res = await axios.get<Task[]>(url)
+        loaded.push(...(res.data || []))
+        url = nextPageUrl(res.headers?.link)
+      }
+      setTasks(loaded)
     } catch (err) {
       setError('Failed to load tasks. Please try again.')
       console.error(err)
@@ -40,6 +64,29 @@ export default function App() {
 
   useEffect(() => { load() }, [load])
 
+  useEffect(() => {
+    if (typeof EventSource === 'undefined') return
+    const source = new EventSource(`${API_BASE}/tasks/events`)
+    source.onopen = () => {
+      setLive(true)
+      // Events sent while disconnected are lost, so resync after a reconnect.
+      if (connectedBefore.current) load()
+      connectedBefore.current = true
+    }
+    source.onerror = () => setLive(false)
+    const onUpsert = (e: MessageEvent) => {
+      const change = JSON.parse(e.data)
+      setTasks(prev => upsertTask(prev, change.task))
+    }
+    source.addEventListener('created', onUpsert)
+    source.addEventListener('updated', onUpsert)
+    source.addEventListener('deleted', (e: MessageEvent) => {
+      const change = JSON.parse(e.data)
+      setTasks(prev => prev.filter(t => t.id !== change.id))
+    })
+    return () => source.close()
+  }, [load])
+
   const handleSave = async (task: Task) => {
     setError(null)
     try {
@@ -49,7 +96,7 @@ export default function App() {
       } else {
         await axios.post(`${API_BASE}/tasks`, task)
       }
-      load()
+      if (!live) load()
     } catch (err: any) {
       const msg = err.response?.data?.message || 'Failed to save task. Please check your input.'
       setError(msg)
@@ -62,7 +109,7 @@ export default function App() {
     setError(null)
     try {
       await axios.delete(`${API_BASE}/tasks/${id}`)
-      load()
+      if (!live) load()
     } catch (err) {
       setError('Failed to delete task. Please try again.')
       console.error(err)
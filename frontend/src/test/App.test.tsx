@@ -1,5 +1,5 @@
-import { describe, it, expect, vi, beforeEach } from 'vitest'
-import { render, screen, waitFor } from '@testing-library/react'
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest'
+import { act, render, screen, waitFor } from '@testing-library/react'
 import userEvent from '@testing-library/user-event'
 import axios from 'axios'
 import App from '../App'
@@ -487,4 +487,50 @@ describe('App Component', () => {
       })
     })
   })
+
+  describe('Live Updates', () => {
+    class FakeEventSource {
+      static last: FakeEventSource
+      onopen: (() => void) | null = null
+      onerror: (() => void) | null = null
+      listeners: Record<string, (e: MessageEvent) => void> = {}
+      constructor(public url: string) { FakeEventSource.last = this }
+      addEventListener(name: string, listener: (e: MessageEvent) => void) { this.listeners[name] = listener }
+      close() {}
+      emit(name: string, data: object) {
+        this.listeners[name]({ data: JSON.stringify(data) } as MessageEvent)
+      }
+    }
+
+    afterEach(() => {
+      vi.unstubAllGlobals()
+    })
+
+    it('should apply pushed events without refetching', async () => {
+      vi.stubGlobal('EventSource', FakeEventSource)
+      mockedAxios.get.mockResolvedValue({ data: [{ id: 1, title: 'Task 1', status: 'TODO' }] })
+
+      render(<App />)
+
+      await waitFor(() => {
+        expect(screen.getByText(/tasks \(1\)/i)).toBeInTheDocument()
+      })
+      expect(FakeEventSource.last.url).toContain('/api/tasks/events')
+
+      act(() => {
+        FakeEventSource.last.onopen?.()
+        FakeEventSource.last.emit('created', { type: 'CREATED', id: 2, task: { id: 2, title: 'Pushed', status: 'TODO' } })
+      })
+      expect(await screen.findByText('Pushed')).toBeInTheDocument()
+
+      act(() => {
+        FakeEventSource.last.emit('deleted', { type: 'DELETED', id: 1 })
+      })
+      await waitFor(() => {
+        expect(screen.getByText(/tasks \(1\)/i)).toBeInTheDocument()
+      })
+      expect(screen.queryByText('Task 1')).not.toBeInTheDocument()
+      expect(mockedAxios.get).toHaveBeenCalledTimes(1)
+    })
+  })
 })
@@ -1,8 +1,36 @@
-import { defineConfig } from 'vite'
+import { defineConfig, type Plugin } from 'vite'
 import react from '@vitejs/plugin-react'
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+
+// Writes .gz and .br next to each larger text file of the build, so the backend can send the
+// variant the browser accepts without compressing on every request.
+function precompress(minSize = 1024): Plugin {
+  const compressible = /\.(js|mjs|css|html|svg|json)$/
+  return {
+    name: 'precompress',
+    apply: 'build',
+    enforce: 'post',
+    generateBundle(_options, bundle) {
+      for (const file of Object.values(bundle)) {
+        if (!compressible.test(file.fileName)) continue
+        const source = file.type === 'chunk' ? file.code : file.source
+        const content = Buffer.from(source)
+        if (content.length < minSize) continue
+        this.emitFile({ type: 'asset', fileName: `${file.fileName}.gz`, source: gzipSync(content, { level: 9 }) })
+        this.emitFile({
+          type: 'asset',
+          fileName: `${file.fileName}.br`,
+          source: brotliCompressSync(content, {
+            params: { [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY }
+          })
+        })
+      }
+    }
+  }
+}
 
 export default defineConfig({
-  plugins: [react()],
+  plugins: [react(), precompress()],
   server: {
     port: 5173,
     open: true